@@ -2,6 +2,7 @@ plugins {
     java
     id("org.springframework.boot") version "3.2.3"
     id("io.spring.dependency-management") version "1.1.4"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.spribe"
@@ -28,12 +29,21 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-data-jpa")
     implementation("org.springframework.boot:spring-boot-starter-web")
     implementation("org.springframework.boot:spring-boot-starter-validation")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
     implementation("org.springframework.boot:spring-boot-starter-cache")
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("org.springframework.retry:spring-retry")
+    implementation("org.springframework.boot:spring-boot-starter-data-r2dbc")
     
     // Database
     implementation("org.liquibase:liquibase-core")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
-    runtimeOnly("org.postgresql:postgresql")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    // JSON console output, see logback-spring.xml
+    implementation("net.logstash.logback:logstash-logback-encoder:7.4")
+    // CopyManager is used directly for bulk imports
+    implementation("org.postgresql:postgresql")
+    implementation("org.postgresql:r2dbc-postgresql")
     
     // API Documentation
     implementation("org.springdoc:springdoc-openapi-starter-webmvc-ui:2.3.0")
@@ -51,13 +61,117 @@ dependencies {
     testImplementation("org.springframework.boot:spring-boot-testcontainers")
     testImplementation("org.testcontainers:junit-jupiter:1.19.3")
     testImplementation("org.testcontainers:postgresql:1.19.3")
+    testImplementation("org.testcontainers:r2dbc:1.19.3")
     testImplementation("org.testcontainers:testcontainers:1.19.3") // ? core
+    // JDBC proxy behind the per-endpoint SQL budgets
+    testImplementation("net.ttddyy:datasource-proxy:1.10")
+    // Property-based tests of the pricing arithmetic
+    testImplementation("net.jqwik:jqwik:1.8.4")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
     // Faker for generating random data
     implementation("net.datafaker:datafaker:2.2.0")
 }
 
-tasks.withType<Test> {
-    useJUnitPlatform()
+tasks.test {
+    useJUnitPlatform {
+        excludeTags("benchmark")
+    }
+    // e.g. ./gradlew test -Dsql-budget.time=2s
+    systemProperties(System.getProperties()
+        .filterKeys { it.toString().startsWith("sql-budget.") }
+        .mapKeys { it.key.toString() })
+}
+
+// Opt-in performance benchmarks, e.g. ./gradlew benchmark -Dbenchmark.rows=10000000
+tasks.register<Test>("benchmark") {
+    description = "Runs the benchmarks tagged with @Tag(\"benchmark\")."
+    group = "verification"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform {
+        includeTags("benchmark")
+    }
+    systemProperties(System.getProperties()
+        .filterKeys { it.toString().startsWith("benchmark.") }
+        .mapKeys { it.key.toString() })
+    testLogging {
+        showStandardStreams = true
+    }
+    outputs.upToDateWhen { false }
+}
+
+// Microbenchmarks under src/jmh, e.g. ./gradlew jmh -PjmhIncludes=PricingBenchmark
+jmh {
+    jmhVersion.set("1.37")
+    providers.gradleProperty("jmhIncludes").orNull?.let { includes.add(it) }
+}
+
+// Fast-start mode, enabled with -PfastStart: the application is AOT-processed and started from an
+// AppCDS archive recorded in a training run. The training run refreshes the context against the
+// services of docker-compose.yml and exits, e.g.
+//   ./gradlew -PfastStart fastStartArchive && ./gradlew -PfastStart fastStartRun
+// Bean conditions and profiles are fixed when processAot runs, so set them at build time.
+if (providers.gradleProperty("fastStart").isPresent) {
+    apply(plugin = "org.springframework.boot.aot")
+
+    val fastStartDir = layout.buildDirectory.dir("fast-start")
+    val cdsArchive = fastStartDir.map { it.file("booking.jsa") }
+    val javaLauncher = javaToolchains.launcherFor { languageVersion = JavaLanguageVersion.of(21) }
+    // The archive only matches a run with the same JVM and the same jar path as the training run
+    val fastStartJvmArgs = listOf("-Dspring.aot.enabled=true")
+
+    // CDS only archives classes loaded from jars, so the application runs from a thin jar plus its libraries
+    val fastStartLibs = tasks.register<Sync>("fastStartLibs") {
+        from(configurations.runtimeClasspath)
+        into(fastStartDir.map { it.dir("lib") })
+    }
+
+    val fastStartJar = tasks.register<Jar>("fastStartJar") {
+        description = "Assembles the AOT-processed application jar of the fast-start mode."
+        group = "build"
+        dependsOn(fastStartLibs)
+        archiveFileName.set("booking-fast-start.jar")
+        destinationDirectory.set(fastStartDir)
+        from(sourceSets.main.get().output)
+        from(sourceSets["aot"].output)
+        manifest.attributes("Main-Class" to "org.spribe.booking.BookingApplication")
+        doFirst {
+            manifest.attributes("Class-Path" to configurations.runtimeClasspath.get().joinToString(" ") { "lib/" + it.name })
+        }
+    }
+
+    tasks.register<Exec>("fastStartArchive") {
+        description = "Records the AppCDS archive of the fast-start mode in a training run."
+        group = "build"
+        inputs.files(fastStartJar, fastStartLibs)
+        outputs.file(cdsArchive)
+        workingDir(fastStartDir)
+        doFirst {
+            commandLine(listOf(javaLauncher.get().executablePath.asFile.absolutePath,
+                "-XX:ArchiveClassesAtExit=" + cdsArchive.get().asFile.absolutePath,
+                "-Dspring.context.exit=onRefresh") + fastStartJvmArgs
+                + listOf("-jar", fastStartJar.get().archiveFile.get().asFile.absolutePath))
+        }
+    }
+
+    tasks.register<Exec>("fastStartRun") {
+        description = "Runs the application in fast-start mode."
+        group = "application"
+        dependsOn("fastStartArchive")
+        workingDir(fastStartDir)
+        doFirst {
+            commandLine(listOf(javaLauncher.get().executablePath.asFile.absolutePath,
+                "-XX:SharedArchiveFile=" + cdsArchive.get().asFile.absolutePath) + fastStartJvmArgs
+                + listOf("-jar", fastStartJar.get().archiveFile.get().asFile.absolutePath))
+        }
+    }
+
+    // StartupBenchmark compares the boot jar with the fast-start build
+    tasks.named<Test>("benchmark") {
+        dependsOn(tasks.named("bootJar"), "fastStartArchive")
+        systemProperty("benchmark.boot-jar", tasks.named<Jar>("bootJar").get().archiveFile.get().asFile.absolutePath)
+        systemProperty("benchmark.fast-start-jar", fastStartJar.get().archiveFile.get().asFile.absolutePath)
+        systemProperty("benchmark.cds-archive", cdsArchive.get().asFile.absolutePath)
+    }
 }
@@ -0,0 +1,76 @@
+package org.spribe.booking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.StayRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices a stay the way {@code createBooking} used to, through a {@code double} markup factor
+ * and {@link BigDecimal}, against {@link PriceCalculator} in minor units, with and without the
+ * conversion from and to {@code BigDecimal} at the API edge. Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PricingBenchmark {
+    private static final int MARKUP = 15;
+    private static final int PRICES = 1024;
+
+    private final PriceCalculator priceCalculator = new PriceCalculator(MARKUP);
+    private final BigDecimal[] basePrices = new BigDecimal[PRICES];
+    private final long[] basePricesInMinorUnits = new long[PRICES];
+    private final int[] nights = new int[PRICES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < PRICES; i++) {
+            basePricesInMinorUnits[i] = random.nextLong(2_000, 200_000);
+            basePrices[i] = PriceCalculator.toDecimal(basePricesInMinorUnits[i]);
+            nights[i] = random.nextInt(1, 15);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal doubleMarkupBigDecimal() {
+        int i = next();
+        return basePrices[i]
+                .multiply(BigDecimal.valueOf(1 + MARKUP / 100.0))
+                .setScale(2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(nights[i]));
+    }
+
+    @Benchmark
+    public BigDecimal minorUnitsFromBigDecimal() {
+        int i = next();
+        return priceCalculator.stayPrice(basePrices[i], StayRate.flat(nights[i]));
+    }
+
+    @Benchmark
+    public long minorUnits() {
+        int i = next();
+        return priceCalculator.stayPrice(basePricesInMinorUnits[i], nights[i]);
+    }
+
+    private int next() {
+        return next = (next + 1) & (PRICES - 1);
+    }
+}
@@ -0,0 +1,93 @@
+package org.spribe.booking.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spribe.booking.config.RatePlanProperties;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.RateCalendar;
+import org.spribe.booking.service.impl.StayRate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices stays of {@code nights} under a rate plan with seasons, a weekend surcharge and
+ * length-of-stay discounts, from the prefix sums of {@link RateCalendar} and night by night from
+ * the plan's rules. Run with {@code ./gradlew jmh -PjmhIncludes=RateCalendarBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateCalendarBenchmark {
+    private static final int CHECK_IN_DAYS = 256;
+    private static final long BASE_PRICE = 12_000;
+
+    @Param({"3", "14", "90"})
+    private int nights;
+
+    private final PriceCalculator priceCalculator = new PriceCalculator(15);
+    private final LocalDateTime[] checkIns = new LocalDateTime[CHECK_IN_DAYS];
+    private RateCalendar rateCalendar;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        RatePlanProperties properties = new RatePlanProperties();
+        properties.setWeekendPercent(10);
+        properties.getSeasons().add(season(MonthDay.of(6, 15), MonthDay.of(8, 31), 20));
+        properties.getSeasons().add(season(MonthDay.of(12, 20), MonthDay.of(1, 5), 50));
+        RatePlanProperties.LengthOfStay week = new RatePlanProperties.LengthOfStay();
+        week.setMinNights(7);
+        week.setDiscountPercent(10);
+        properties.getLengthOfStay().add(week);
+        rateCalendar = new RateCalendar(properties, Clock.systemDefaultZone());
+
+        LocalDateTime today = LocalDate.now().atTime(15, 0);
+        for (int i = 0; i < CHECK_IN_DAYS; i++) {
+            checkIns[i] = today.plusDays(i);
+        }
+    }
+
+    @Benchmark
+    public long prefixSums() {
+        LocalDateTime checkIn = checkIns[next()];
+        return priceCalculator.stayPrice(BASE_PRICE, rateCalendar.stayRate(checkIn, checkIn.plusDays(nights)));
+    }
+
+    @Benchmark
+    public long nightByNight() {
+        LocalDate firstNight = checkIns[next()].toLocalDate();
+        long multipliers = 0;
+        for (int i = 0; i < nights; i++) {
+            multipliers += rateCalendar.nightlyMultiplier(firstNight.plusDays(i));
+        }
+        return priceCalculator.stayPrice(BASE_PRICE, new StayRate(nights, multipliers * (nights >= 7 ? 90 : 100)));
+    }
+
+    private int next() {
+        return next = (next + 1) & (CHECK_IN_DAYS - 1);
+    }
+
+    private static RatePlanProperties.Season season(MonthDay from, MonthDay to, int percent) {
+        RatePlanProperties.Season season = new RatePlanProperties.Season();
+        season.setFrom(from);
+        season.setTo(to);
+        season.setPercent(percent);
+        return season;
+    }
+}
@@ -2,14 +2,20 @@ package org.spribe.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC only serves the reactive search; a second transaction manager would make @Transactional ambiguous
+@SpringBootApplication(exclude = R2dbcTransactionManagerAutoConfiguration.class)
 @EnableCaching
 @EnableScheduling
 public class BookingApplication {
     public static void main(String[] args) {
-        SpringApplication.run(BookingApplication.class, args);
+        SpringApplication application = new SpringApplication(BookingApplication.class);
+        // Records the startup steps served by /actuator/startup
+        application.setApplicationStartup(new BufferingApplicationStartup(4096));
+        application.run(args);
     }
 } 
\ No newline at end of file
@@ -0,0 +1,57 @@
+package org.spribe.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(AdmissionProperties.class)
+@ConditionalOnProperty(prefix = "booking.admission", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class AdmissionControlConfig {
+    private final AdmissionProperties properties;
+    private final ObjectProvider<StringRedisTemplate> redisTemplate;
+
+    @Bean
+    public TokenBuckets tokenBuckets() {
+        log.info("Admission control with {} token buckets for groups {}", properties.getStore(), properties.getGroups().keySet());
+        return switch (properties.getStore()) {
+            case MEMORY -> new InMemoryTokenBuckets();
+            case REDIS -> new RedisTokenBuckets(redisTemplate.getObject());
+        };
+    }
+
+    // Runs before every other filter, so a rejected request costs as little as possible
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(TokenBuckets tokenBuckets,
+                                                                                 HikariDataSource interactiveDataSource,
+                                                                                 MeterRegistry meterRegistry) {
+        AdmissionControlFilter filter = new AdmissionControlFilter(properties, tokenBuckets, () -> {
+            HikariPoolMXBean pool = interactiveDataSource.getHikariPoolMXBean();
+            return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+        }, meterRegistry);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void evictFullBuckets() {
+        if (tokenBuckets() instanceof InMemoryTokenBuckets buckets) {
+            buckets.evictFull();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+
+/**
+ * Admits requests of the configured endpoint groups before they reach a controller. Load is shed
+ * with 503 while too many requests are in flight or too many threads already wait for an
+ * interactive connection; otherwise the user's bucket and then the group's shared bucket must
+ * each yield a token, or the request is rejected with 429. Both carry {@code Retry-After}. A
+ * request shed with 503 takes no tokens, and one the shared bucket rejects gets its user token back.
+ * <p>
+ * Requests outside every group pass through untouched.
+ */
+@Slf4j
+public class AdmissionControlFilter extends OncePerRequestFilter {
+    private final AdmissionProperties properties;
+    private final TokenBuckets tokenBuckets;
+    private final IntSupplier threadsAwaitingConnection;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdmissionControlFilter(AdmissionProperties properties, TokenBuckets tokenBuckets,
+                                  IntSupplier threadsAwaitingConnection, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.tokenBuckets = tokenBuckets;
+        this.threadsAwaitingConnection = threadsAwaitingConnection;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Map.Entry<String, AdmissionProperties.Group> group = findGroup(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String name = group.getKey();
+
+        int maxThreadsAwaiting = properties.getMaxThreadsAwaitingConnection();
+        if (maxThreadsAwaiting > 0 && threadsAwaitingConnection.getAsInt() >= maxThreadsAwaiting) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getRetryAfter().toMillis(), name, "pool_saturated");
+            return;
+        }
+
+        int maxConcurrent = properties.getMaxConcurrentRequests();
+        if (maxConcurrent > 0 && inFlight.incrementAndGet() > maxConcurrent) {
+            inFlight.decrementAndGet();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, properties.getRetryAfter().toMillis(), name, "concurrency");
+            return;
+        }
+        try {
+            if (takeTokens(request, response, name, group.getValue())) {
+                filterChain.doFilter(request, response);
+            }
+        } finally {
+            if (maxConcurrent > 0) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private Map.Entry<String, AdmissionProperties.Group> findGroup(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Map.Entry<String, AdmissionProperties.Group> entry : properties.getGroups().entrySet()) {
+            AdmissionProperties.Group group = entry.getValue();
+            boolean methodMatches = group.getMethods().isEmpty() || group.getMethods().contains(request.getMethod());
+            if (methodMatches && group.getPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path))) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    private boolean takeTokens(HttpServletRequest request, HttpServletResponse response, String name,
+                               AdmissionProperties.Group group) throws IOException {
+        String userBucket = "user:" + name + ":" + userKey(request);
+        long wait = acquire(userBucket, group.getUser());
+        if (wait > 0) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, name, "user_rate");
+            return false;
+        }
+        wait = acquire("global:" + name, group.getGlobal());
+        if (wait > 0) {
+            if (!group.getUser().isUnlimited()) {
+                tokenBuckets.refund(userBucket, group.getUser());
+            }
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait, name, "global_rate");
+            return false;
+        }
+        return true;
+    }
+
+    private long acquire(String key, AdmissionProperties.Limit limit) {
+        return limit.isUnlimited() ? 0 : tokenBuckets.tryAcquire(key, limit);
+    }
+
+    private String userKey(HttpServletRequest request) {
+        String userId = request.getHeader(RecentWriteFilter.USER_ID_HEADER);
+        return userId != null ? userId : request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterMillis, String group, String reason)
+            throws IOException {
+        log.debug("Rejecting {} request with {}: {}", group, status.value(), reason);
+        Counter.builder("booking.admission.rejected")
+                .tag("group", group)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (retryAfterMillis + 999) / 1000)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(status == HttpStatus.TOO_MANY_REQUESTS
+                ? "{\"message\":\"Too many requests, please retry later\"}"
+                : "{\"message\":\"Service is overloaded, please retry later\"}");
+    }
+}
@@ -0,0 +1,67 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "booking.admission")
+public class AdmissionProperties {
+    private boolean enabled = false;
+
+    /** Where token buckets live: MEMORY limits each node on its own, REDIS shares them across nodes. */
+    private Store store = Store.MEMORY;
+
+    /** Requests of all groups admitted at the same time on this node; zero disables the limit. */
+    private int maxConcurrentRequests = 0;
+
+    /**
+     * Threads waiting for an interactive connection above which requests are shed instead of
+     * queueing behind the pool; zero disables the check.
+     */
+    private int maxThreadsAwaitingConnection = 0;
+
+    /** Retry-After sent with 503 when load is shed. */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /** Endpoint groups in matching order; the first group matching a request applies. */
+    private Map<String, Group> groups = new LinkedHashMap<>();
+
+    public enum Store {
+        MEMORY,
+        REDIS
+    }
+
+    @Data
+    public static class Group {
+        /** HTTP methods of the group; empty matches every method. */
+        private List<String> methods = new ArrayList<>();
+
+        /** Ant-style path patterns of the group. */
+        private List<String> paths = new ArrayList<>();
+
+        /** Bucket per user ({@code X-User-Id}, or the client address without it). */
+        private Limit user = new Limit();
+
+        /** Bucket shared by all users of the group. */
+        private Limit global = new Limit();
+    }
+
+    @Data
+    public static class Limit {
+        /** Tokens added per second; zero disables the bucket. */
+        private double rate = 0;
+
+        /** Bucket capacity, i.e. the burst admitted after an idle period. */
+        private int burst = 1;
+
+        public boolean isUnlimited() {
+            return rate <= 0;
+        }
+    }
+}
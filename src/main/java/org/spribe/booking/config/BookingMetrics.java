@@ -0,0 +1,65 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Business outcomes of bookings and payments. Transitions are counted in {@code booking.bookings}
+ * and {@code booking.payments}, tagged with the {@code outcome}, only once their transaction
+ * commits, so rolled-back and retried attempts are not counted. Rejections are counted right
+ * away. {@code booking.bookings.pending} is the number of bookings holding a unit while they
+ * await payment, as of the last refresh.
+ */
+@Component
+public class BookingMetrics {
+    private final MeterRegistry meterRegistry;
+    private final AtomicLong pendingHolds = new AtomicLong();
+
+    public BookingMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("booking.bookings.pending", pendingHolds, AtomicLong::get)
+                .description("Bookings awaiting payment, as of the last refresh")
+                .register(meterRegistry);
+    }
+
+    public void bookingCommitted(String outcome) {
+        afterCommit(counter("booking.bookings", outcome));
+    }
+
+    public void bookingRejected(String reason) {
+        counter("booking.bookings", "rejected_" + reason).increment();
+    }
+
+    public void paymentCommitted(String outcome) {
+        afterCommit(counter("booking.payments", outcome));
+    }
+
+    public void pendingHolds(long count) {
+        pendingHolds.set(count);
+    }
+
+    private Counter counter(String name, String outcome) {
+        return Counter.builder(name)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void afterCommit(Counter counter) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counter.increment();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counter.increment();
+            }
+        });
+    }
+}
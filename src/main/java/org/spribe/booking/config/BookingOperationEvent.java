@@ -0,0 +1,22 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.spribe.booking.BookingOperation")
+@Label("Booking Operation")
+@Description("A call of a BookingService method")
+class BookingOperationEvent extends ServiceOperationEvent {
+    @Label("Booking Id")
+    String bookingId;
+
+    @Label("Unit Id")
+    String unitId;
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Status")
+    String status;
+}
@@ -24,9 +24,12 @@ public class CacheConfig {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()))
                 .disableCachingNullValues();
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager cacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .withCacheConfiguration("availableUnits", config)
                 .build();
+        // Not a bean of its own once wrapped, so it is initialised here
+        cacheManager.afterPropertiesSet();
+        return new FlightRecordingCacheManager(cacheManager);
     }
 } 
\ No newline at end of file
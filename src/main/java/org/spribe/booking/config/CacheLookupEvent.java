@@ -0,0 +1,24 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.spribe.booking.CacheLookup")
+@Label("Cache Lookup")
+@Description("A lookup in a Redis-backed cache")
+@Category({"Booking Service", "Cache"})
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+    @Label("Cache")
+    public String cache;
+
+    @Label("Key")
+    public String key;
+
+    @Label("Hit")
+    public boolean hit;
+}
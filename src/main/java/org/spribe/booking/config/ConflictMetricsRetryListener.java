@@ -0,0 +1,57 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.stereotype.Component;
+
+/**
+ * Counts optimistic lock conflicts per service method: every failed attempt increments
+ * {@code booking.retry.conflicts}, a call that still fails after the last attempt increments
+ * {@code booking.retry.exhausted}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ConflictMetricsRetryListener implements RetryListener {
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (!(throwable instanceof OptimisticLockingFailureException)) {
+            return;
+        }
+        String method = methodName(callback);
+        log.debug("Optimistic lock conflict in {} on attempt {}", method, context.getRetryCount());
+        counter("booking.retry.conflicts", method).increment();
+    }
+
+    @Override
+    public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        if (throwable instanceof OptimisticLockingFailureException) {
+            String method = methodName(callback);
+            log.warn("Giving up on {} after {} conflicting attempts", method, context.getRetryCount());
+            counter("booking.retry.exhausted", method).increment();
+        }
+    }
+
+    private Counter counter(String name, String method) {
+        return Counter.builder(name)
+                .tag("method", method)
+                .register(meterRegistry);
+    }
+
+    private String methodName(RetryCallback<?, ?> callback) {
+        if (callback instanceof MethodInvocationRetryCallback<?, ?> invocationCallback) {
+            var method = invocationCallback.getInvocation().getMethod();
+            return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,122 @@
+package org.spribe.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.autoconfigure.liquibase.LiquibaseDataSource;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Gives each {@link Workload} its own Hikari pool against the primary database, so a burst of
+ * scheduled or bulk work queues on its own pool instead of starving HTTP requests.
+ * <p>
+ * The pools are beans so Spring Boot exports {@code hikaricp.connections.*} metrics for each
+ * of them, tagged with the pool name. When replicas are enabled, read-only transactions are
+ * handed to {@link ReplicaRoutingDataSource} instead, see {@link ReplicaDataSourceConfig}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(DataSourcePoolsProperties.class)
+@RequiredArgsConstructor
+public class DataSourceConfig {
+    private final DataSourcePoolsProperties properties;
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<JdbcConnectionDetails> connectionDetails;
+
+    @Bean
+    public HikariDataSource interactiveDataSource() {
+        return createPool(Workload.INTERACTIVE);
+    }
+
+    @Bean
+    public HikariDataSource backgroundDataSource() {
+        return createPool(Workload.BACKGROUND);
+    }
+
+    // Migrations may rewrite or index whole tables, so they run without a statement timeout
+    @Bean
+    @LiquibaseDataSource
+    public HikariDataSource bulkDataSource() {
+        return createPool(Workload.BULK);
+    }
+
+    @Bean
+    public WorkloadRoutingDataSource workloadRoutingDataSource(HikariDataSource interactiveDataSource,
+                                                               HikariDataSource backgroundDataSource,
+                                                               HikariDataSource bulkDataSource) {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        pools.put(Workload.INTERACTIVE, interactiveDataSource);
+        pools.put(Workload.BACKGROUND, backgroundDataSource);
+        pools.put(Workload.BULK, bulkDataSource);
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource,
+                                 ObjectProvider<ReplicaRoutingDataSource> replicaRoutingDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+        replicaRoutingDataSource.ifAvailable(dataSource::setReadOnlyDataSource);
+        return dataSource;
+    }
+
+    private HikariDataSource createPool(Workload workload) {
+        JdbcConnectionDetails connection = connectionDetails.getIfAvailable(this::propertiesConnectionDetails);
+        DataSourcePoolsProperties.Pool pool = properties.get(workload);
+
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(workload.name().toLowerCase());
+        dataSource.setJdbcUrl(connection.getJdbcUrl());
+        dataSource.setUsername(connection.getUsername());
+        dataSource.setPassword(connection.getPassword());
+        dataSource.setDriverClassName(connection.getDriverClassName());
+        dataSource.setMaximumPoolSize(pool.getMaximumPoolSize());
+        dataSource.setMinimumIdle(Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize()));
+        dataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        if (!pool.getStatementTimeout().isZero()) {
+            // Passed as a startup parameter so the timeout applies to every connection of the pool
+            dataSource.addDataSourceProperty("options",
+                    "-c statement_timeout=" + pool.getStatementTimeout().toMillis());
+        }
+
+        log.info("Connection pool '{}': max size {}, connection timeout {}, statement timeout {}",
+                dataSource.getPoolName(), pool.getMaximumPoolSize(), pool.getConnectionTimeout(),
+                pool.getStatementTimeout().isZero() ? "none" : pool.getStatementTimeout());
+        return dataSource;
+    }
+
+    private JdbcConnectionDetails propertiesConnectionDetails() {
+        return new JdbcConnectionDetails() {
+            @Override
+            public String getUsername() {
+                return dataSourceProperties.determineUsername();
+            }
+
+            @Override
+            public String getPassword() {
+                return dataSourceProperties.determinePassword();
+            }
+
+            @Override
+            public String getJdbcUrl() {
+                return dataSourceProperties.determineUrl();
+            }
+
+            @Override
+            public String getDriverClassName() {
+                return dataSourceProperties.determineDriverClassName();
+            }
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.datasource.pools")
+public class DataSourcePoolsProperties {
+    private Pool interactive = new Pool(20, Duration.ofSeconds(2), Duration.ofSeconds(5));
+    private Pool background = new Pool(4, Duration.ofSeconds(30), Duration.ofMinutes(2));
+    private Pool bulk = new Pool(2, Duration.ofMinutes(1), Duration.ZERO);
+
+    public Pool get(Workload workload) {
+        return switch (workload) {
+            case INTERACTIVE -> interactive;
+            case BACKGROUND -> background;
+            case BULK -> bulk;
+        };
+    }
+
+    @Data
+    public static class Pool {
+        private int maximumPoolSize;
+        private int minimumIdle = 1;
+
+        /** How long a caller waits for a free connection before failing. */
+        private Duration connectionTimeout;
+
+        /** Server-side statement_timeout for connections of this pool; zero disables it. */
+        private Duration statementTimeout;
+
+        public Pool() {
+        }
+
+        public Pool(int maximumPoolSize, Duration connectionTimeout, Duration statementTimeout) {
+            this.maximumPoolSize = maximumPoolSize;
+            this.connectionTimeout = connectionTimeout;
+            this.statementTimeout = statementTimeout;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package org.spribe.booking.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.spribe.booking.dto.BookingRequest;
+import org.spribe.booking.dto.BookingResponse;
+import org.spribe.booking.dto.PageResponse;
+import org.spribe.booking.dto.PaymentRequest;
+import org.spribe.booking.dto.PaymentResponse;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * Emits a Flight Recorder event for every call of the booking and payment services and for unit
+ * searches, carrying the ids the call was made with or returned, the number of rows returned and
+ * the exception thrown. Runs outside the retry and transaction advice, like
+ * {@link ServiceMetricsAspect}, so an event spans the whole call as the caller sees it. When no
+ * recording has the events enabled the call is not touched.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class FlightRecorderAspect {
+
+    @Around("execution(public * org.spribe.booking.service.BookingService+.*(..))")
+    public Object recordBooking(ProceedingJoinPoint joinPoint) throws Throwable {
+        BookingOperationEvent event = new BookingOperationEvent();
+        return record(joinPoint, event, (arguments, result) -> {
+            event.bookingId = string(arguments.getOrDefault("bookingId", arguments.get("id")));
+            event.userId = string(arguments.get("userId"));
+            if (arguments.get("request") instanceof BookingRequest request) {
+                event.unitId = string(request.getUnitId());
+            }
+            if (result instanceof BookingResponse booking) {
+                event.bookingId = string(booking.getId());
+                event.unitId = string(booking.getUnitId());
+                event.userId = string(booking.getUserId());
+                event.status = string(booking.getStatus());
+            }
+        });
+    }
+
+    @Around("execution(public * org.spribe.booking.service.PaymentService+.*(..))")
+    public Object recordPayment(ProceedingJoinPoint joinPoint) throws Throwable {
+        PaymentOperationEvent event = new PaymentOperationEvent();
+        return record(joinPoint, event, (arguments, result) -> {
+            event.paymentId = string(arguments.get("paymentId"));
+            event.bookingId = string(arguments.get("bookingId"));
+            event.userId = string(arguments.get("userId"));
+            if (arguments.get("request") instanceof PaymentRequest request) {
+                event.bookingId = string(request.getBookingId());
+            }
+            if (arguments.get("status") != null) {
+                event.status = string(arguments.get("status"));
+            }
+            if (result instanceof PaymentResponse payment) {
+                event.paymentId = string(payment.getId());
+                event.bookingId = string(payment.getBookingId());
+                event.status = string(payment.getStatus());
+            }
+        });
+    }
+
+    @Around("execution(public * org.spribe.booking.service.UnitService+.searchUnits(..))")
+    public Object recordUnitSearch(ProceedingJoinPoint joinPoint) throws Throwable {
+        UnitSearchEvent event = new UnitSearchEvent();
+        return record(joinPoint, event, (arguments, result) -> {
+            if (arguments.get("request") instanceof UnitSearchRequest request) {
+                event.criteria = request.toString();
+                event.page = Objects.requireNonNullElse(request.getPage(), 0);
+                event.size = Objects.requireNonNullElse(request.getSize(), 0);
+            }
+            if (result instanceof PageResponse<?> page) {
+                event.totalElements = page.getTotalElements();
+            }
+        });
+    }
+
+    private Object record(ProceedingJoinPoint joinPoint, ServiceOperationEvent event,
+                          BiConsumer<Map<String, Object>, Object> details) throws Throwable {
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } catch (Throwable e) {
+            event.exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.rows = rows(result);
+                details.accept(arguments(joinPoint), result);
+                event.commit();
+            }
+        }
+    }
+
+    private static Map<String, Object> arguments(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] values = joinPoint.getArgs();
+        Map<String, Object> arguments = new HashMap<>();
+        for (int i = 0; names != null && i < names.length; i++) {
+            if (values[i] != null) {
+                arguments.put(names[i], values[i]);
+            }
+        }
+        return arguments;
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof PageResponse<?> page && page.getContent() != null) {
+            return page.getContent().size();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result != null ? 1 : 0;
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+}
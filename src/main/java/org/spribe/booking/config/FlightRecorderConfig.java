@@ -0,0 +1,31 @@
+package org.spribe.booking.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FlightRecorderProperties.class)
+@ConditionalOnProperty(prefix = "booking.flight-recorder", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class FlightRecorderConfig {
+    private final FlightRecorderProperties properties;
+
+    @Bean
+    public FlightRecordings flightRecordings() {
+        return new FlightRecordings(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "booking.flight-recorder", name = "endpoint-enabled", havingValue = "true")
+    public FlightRecorderEndpoint flightRecorderEndpoint(FlightRecordings flightRecordings) {
+        return new FlightRecorderEndpoint(flightRecordings);
+    }
+
+    @Bean
+    public FlightRecorderAspect flightRecorderAspect() {
+        return new FlightRecorderAspect();
+    }
+}
@@ -0,0 +1,85 @@
+package org.spribe.booking.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * {@code /actuator/flightrecorder}: {@code GET} lists the recordings of the JVM, {@code POST}
+ * starts one ({@code name}, {@code settings}, {@code duration} and {@code threshold} are
+ * optional; duration and size are capped by {@code booking.flight-recorder}), {@code GET /{id}}
+ * downloads what a recording holds so far as a {@code .jfr} file and {@code DELETE /{id}} stops
+ * and discards it. Not exposed by default, as it hands out the JVM's internals.
+ */
+@Endpoint(id = "flightrecorder")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+    private final FlightRecordings flightRecordings;
+
+    @ReadOperation
+    public List<FlightRecordings.RecordingDescriptor> recordings() {
+        return flightRecordings.recordings();
+    }
+
+    @WriteOperation
+    public FlightRecordings.RecordingDescriptor start(@Nullable String name, @Nullable String settings,
+                                                      @Nullable Duration duration, @Nullable Duration threshold) {
+        try {
+            return flightRecordings.start(name, settings, duration, threshold);
+        } catch (IllegalArgumentException e) {
+            // Answered with 400 rather than 500
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public Resource dump(@Selector long id) {
+        return flightRecordings.dump(id)
+                .map(TemporaryFileResource::new)
+                .orElse(null);
+    }
+
+    @DeleteOperation
+    public FlightRecordings.RecordingDescriptor stop(@Selector long id) {
+        return flightRecordings.stop(id).orElse(null);
+    }
+
+    // Deletes the dump once it has been streamed to the client
+    private static class TemporaryFileResource extends FileSystemResource {
+        private final Path file;
+
+        TemporaryFileResource(Path file) {
+            super(file);
+            this.file = file;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "booking.flight-recorder")
+public class FlightRecorderProperties {
+    private boolean enabled = false;
+
+    /** Whether the flightrecorder actuator endpoint, which starts recordings and hands out JVM dumps, is registered. */
+    private boolean endpointEnabled = false;
+
+    /** Whether a recording runs from startup until shutdown, so the last {@code maxAge} can always be dumped. */
+    private boolean continuous = false;
+
+    /** JFR settings of the continuous recording and the default for ad-hoc ones: {@code default} or {@code profile}. */
+    private String settings = "default";
+
+    /** How far back the continuous recording reaches. */
+    private Duration maxAge = Duration.ofHours(1);
+
+    /** Disk space the continuous recording may use before its oldest data is dropped. */
+    private DataSize maxSize = DataSize.ofMegabytes(250);
+
+    /** Longest recording the endpoint starts; recordings requested without a duration run this long. */
+    private Duration maxRecordingDuration = Duration.ofMinutes(30);
+
+    /** Disk space a recording started from the endpoint may use before its oldest data is dropped. */
+    private DataSize maxRecordingSize = DataSize.ofMegabytes(250);
+
+    /** Booking, payment, search and cache events shorter than this are not recorded. */
+    private Duration threshold = Duration.ZERO;
+}
@@ -0,0 +1,141 @@
+package org.spribe.booking.config;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Emits a {@link CacheLookupEvent} with the cache, the key and whether it was a hit for every
+ * lookup made through the caches of the delegate, i.e. by {@code @Cacheable} and by direct reads.
+ * Writes and evictions pass through unrecorded.
+ */
+class FlightRecordingCacheManager implements CacheManager {
+    private final CacheManager delegate;
+    private final Map<String, Cache> caches = new ConcurrentHashMap<>();
+
+    FlightRecordingCacheManager(CacheManager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = delegate.getCache(name);
+        if (cache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, ignored -> new FlightRecordingCache(cache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    private static class FlightRecordingCache implements Cache {
+        private final Cache delegate;
+
+        FlightRecordingCache(Cache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return delegate.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return lookup(key, () -> delegate.get(key), Objects::nonNull);
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return lookup(key, () -> delegate.get(key, type), Objects::nonNull);
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            AtomicBoolean loaded = new AtomicBoolean();
+            Callable<T> loader = () -> {
+                loaded.set(true);
+                return valueLoader.call();
+            };
+            return lookup(key, () -> delegate.get(key, loader), value -> !loaded.get());
+        }
+
+        @Override
+        public CompletableFuture<?> retrieve(Object key) {
+            return delegate.retrieve(key);
+        }
+
+        @Override
+        public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+            return delegate.retrieve(key, valueLoader);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            delegate.put(key, value);
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return delegate.putIfAbsent(key, value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            delegate.evict(key);
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            return delegate.evictIfPresent(key);
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+
+        @Override
+        public boolean invalidate() {
+            return delegate.invalidate();
+        }
+
+        private <T> T lookup(Object key, Supplier<T> get, Predicate<T> hit) {
+            CacheLookupEvent event = new CacheLookupEvent();
+            if (!event.isEnabled()) {
+                return get.get();
+            }
+            event.begin();
+            T value = null;
+            try {
+                value = get.get();
+                return value;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.cache = getName();
+                    event.key = String.valueOf(key);
+                    event.hit = hit.test(value);
+                    event.commit();
+                }
+            }
+        }
+    }
+}
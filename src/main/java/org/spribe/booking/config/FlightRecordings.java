@@ -0,0 +1,151 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Starts, lists, dumps and stops Flight Recorder recordings of this JVM, with the booking events
+ * enabled at {@code booking.flight-recorder.threshold}. When {@code continuous} is set a recording
+ * named {@value #CONTINUOUS} runs from startup until shutdown, keeping the last {@code max-age}
+ * on disk, so a latency spike can be dumped after the fact together with the GC, lock and I/O
+ * events of the same period.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class FlightRecordings implements SmartLifecycle {
+    static final String CONTINUOUS = "booking-continuous";
+
+    private static final List<Class<? extends jdk.jfr.Event>> BOOKING_EVENTS = List.of(
+            BookingOperationEvent.class, PaymentOperationEvent.class, UnitSearchEvent.class, CacheLookupEvent.class);
+
+    private final FlightRecorderProperties properties;
+
+    private volatile Recording continuous;
+
+    /**
+     * Starts a recording of at most {@code max-recording-duration} and {@code max-recording-size};
+     * without a {@code duration} it runs for the longest allowed.
+     */
+    public RecordingDescriptor start(String name, String settings, Duration duration, Duration threshold) {
+        Duration maxDuration = properties.getMaxRecordingDuration();
+        if (duration != null && (duration.isNegative() || duration.isZero() || duration.compareTo(maxDuration) > 0)) {
+            throw new IllegalArgumentException("Recording duration must be above zero and at most " + maxDuration + ": " + duration);
+        }
+        Recording recording = new Recording(configuration(settings != null ? settings : properties.getSettings()).getSettings());
+        recording.setName(name != null ? name : "booking-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setDuration(duration != null ? duration : maxDuration);
+        recording.setMaxSize(properties.getMaxRecordingSize().toBytes());
+        enableBookingEvents(recording, threshold != null ? threshold : properties.getThreshold());
+        recording.start();
+        log.info("Started flight recording {} ({}) for {} up to {}", recording.getId(), recording.getName(),
+                recording.getDuration(), properties.getMaxRecordingSize());
+        return RecordingDescriptor.of(recording);
+    }
+
+    public List<RecordingDescriptor> recordings() {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .map(RecordingDescriptor::of)
+                .toList();
+    }
+
+    /**
+     * Writes what the recording holds so far to a temporary file; the caller deletes it.
+     */
+    public Optional<Path> dump(long id) {
+        return find(id).map(recording -> {
+            try {
+                Path file = Files.createTempFile("booking-" + id + "-", ".jfr");
+                recording.dump(file);
+                return file;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to dump flight recording " + id, e);
+            }
+        });
+    }
+
+    public Optional<RecordingDescriptor> stop(long id) {
+        return find(id).map(recording -> {
+            if (recording.getState() == RecordingState.RUNNING) {
+                recording.stop();
+            }
+            RecordingDescriptor descriptor = RecordingDescriptor.of(recording);
+            recording.close();
+            log.info("Closed flight recording {} ({})", id, recording.getName());
+            return descriptor;
+        });
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isContinuous()) {
+            return;
+        }
+        Recording recording = new Recording(configuration(properties.getSettings()).getSettings());
+        recording.setName(CONTINUOUS);
+        recording.setToDisk(true);
+        recording.setMaxAge(properties.getMaxAge());
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        enableBookingEvents(recording, properties.getThreshold());
+        recording.start();
+        continuous = recording;
+        log.info("Recording continuously with {} settings, keeping the last {} up to {}",
+                properties.getSettings(), properties.getMaxAge(), properties.getMaxSize());
+    }
+
+    @Override
+    public void stop() {
+        if (continuous != null) {
+            continuous.close();
+            continuous = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return continuous != null;
+    }
+
+    private Optional<Recording> find(long id) {
+        return FlightRecorder.getFlightRecorder().getRecordings().stream()
+                .filter(recording -> recording.getId() == id)
+                .findFirst();
+    }
+
+    private static void enableBookingEvents(Recording recording, Duration threshold) {
+        for (Class<? extends jdk.jfr.Event> event : BOOKING_EVENTS) {
+            recording.enable(event).withThreshold(threshold);
+        }
+    }
+
+    private static Configuration configuration(String name) {
+        try {
+            return Configuration.getConfiguration(name);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown flight recorder settings: " + name, e);
+        }
+    }
+
+    public record RecordingDescriptor(long id, String name, RecordingState state, Instant startTime,
+                                      Duration duration, Duration maxAge, long size) {
+        static RecordingDescriptor of(Recording recording) {
+            return new RecordingDescriptor(recording.getId(), recording.getName(), recording.getState(),
+                    recording.getStartTime(), recording.getDuration(), recording.getMaxAge(), recording.getSize());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package org.spribe.booking.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(IdempotencyProperties.class)
+@ConditionalOnProperty(prefix = "booking.idempotency", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class IdempotencyConfig {
+    private final IdempotencyProperties properties;
+
+    @Bean
+    public IdempotencyStore idempotencyStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper) {
+        return new RedisIdempotencyStore(redisTemplate, objectMapper);
+    }
+
+    // Right after admission control, so rejected requests never claim a key
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyStore idempotencyStore,
+                                                                       MeterRegistry meterRegistry) {
+        log.info("Honouring Idempotency-Key on {} for {}", properties.getPaths(), properties.getTtl());
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(
+                new IdempotencyFilter(properties, idempotencyStore, meterRegistry));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
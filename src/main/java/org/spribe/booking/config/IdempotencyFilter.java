@@ -0,0 +1,250 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a POST carrying an {@code Idempotency-Key} at most once per user and key. The first request
+ * claims the key and its successful response is stored; retries with the same key and body are
+ * answered from the store without reaching a controller. A duplicate arriving while the first
+ * request still runs waits for it instead of racing it.
+ * <p>
+ * Reusing a key with a different body is rejected with 422. Failed requests release the key, so
+ * the client can retry them. The claim is renewed while the request runs, so a slow request is
+ * never run a second time by a duplicate that finds its claim expired.
+ */
+@Slf4j
+public class IdempotencyFilter extends OncePerRequestFilter {
+    static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final ScheduledExecutorService renewals = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "idempotency-renewal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void destroy() {
+        renewals.shutdownNow();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        if (idempotencyKey == null || !HttpMethod.POST.matches(request.getMethod())
+                || properties.getPaths().stream().noneMatch(pattern -> pathMatcher.match(pattern, path))) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        // Keys are chosen by clients, so they are only unique per user
+        String key = userKey(request) + ":" + idempotencyKey;
+        String fingerprint = fingerprint(request.getMethod(), path, cachedRequest.body);
+
+        long deadline = System.nanoTime() + properties.getWaitTimeout().toNanos();
+        while (true) {
+            Optional<IdempotencyStore.IdempotencyRecord> existing = store.claim(key, fingerprint, properties.getLockTimeout());
+            if (existing.isEmpty()) {
+                execute(key, fingerprint, cachedRequest, response, filterChain);
+                return;
+            }
+
+            IdempotencyStore.IdempotencyRecord record = existing.get();
+            if (!record.fingerprint().equals(fingerprint)) {
+                count("mismatch");
+                writeError(response, HttpStatus.UNPROCESSABLE_ENTITY,
+                        "Idempotency-Key was already used for a different request");
+                return;
+            }
+            if (!record.isPending()) {
+                count("replayed");
+                replay(record, response);
+                return;
+            }
+            if (System.nanoTime() >= deadline) {
+                count("in_progress");
+                response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                writeError(response, HttpStatus.CONFLICT, "A request with this Idempotency-Key is still in progress");
+                return;
+            }
+            try {
+                Thread.sleep(properties.getPollInterval().toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException("Interrupted while waiting for idempotency key " + key, e);
+            }
+        }
+    }
+
+    private void execute(String key, String fingerprint, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        long renewalMillis = Math.max(1, properties.getLockTimeout().toMillis() / 3);
+        ScheduledFuture<?> renewal = renewals.scheduleAtFixedRate(
+                () -> store.renew(key, fingerprint, properties.getLockTimeout()),
+                renewalMillis, renewalMillis, TimeUnit.MILLISECONDS);
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            if (HttpStatus.valueOf(cachingResponse.getStatus()).is2xxSuccessful()) {
+                store.complete(key, new IdempotencyStore.IdempotencyRecord(fingerprint, cachingResponse.getStatus(),
+                        cachingResponse.getContentType(),
+                        new String(cachingResponse.getContentAsByteArray(), StandardCharsets.UTF_8)), properties.getTtl());
+                completed = true;
+            }
+            count("executed");
+        } finally {
+            renewal.cancel(false);
+            if (!completed) {
+                store.release(key, fingerprint);
+            }
+            cachingResponse.copyBodyToResponse();
+        }
+    }
+
+    private void replay(IdempotencyStore.IdempotencyRecord record, HttpServletResponse response) throws IOException {
+        log.debug("Replaying stored {} response", record.status());
+        response.setStatus(record.status());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.contentType() != null) {
+            response.setContentType(record.contentType());
+        }
+        if (record.body() != null) {
+            response.getOutputStream().write(record.body().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private String userKey(HttpServletRequest request) {
+        String userId = request.getHeader(RecentWriteFilter.USER_ID_HEADER);
+        return userId != null ? userId : "anonymous";
+    }
+
+    private String fingerprint(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + " " + path + "\n").getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void count(String outcome) {
+        Counter.builder("booking.idempotency.requests")
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + message + "\"}");
+    }
+
+    /**
+     * Reads the body up front, so it can be fingerprinted before the controller consumes it.
+     */
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already buffered, so it is available at once and read to the end
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException | RuntimeException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
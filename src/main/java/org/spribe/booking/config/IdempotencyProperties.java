@@ -0,0 +1,32 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "booking.idempotency")
+public class IdempotencyProperties {
+    private boolean enabled = false;
+
+    /** Ant-style path patterns of the POST endpoints honouring {@code Idempotency-Key}. */
+    private List<String> paths = new ArrayList<>();
+
+    /** How long a successful response is replayed for the same key. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * How long a claimed key outlives the node running its request, e.g. after a crash. The claim
+     * is renewed every third of this while the request runs, however long it takes.
+     */
+    private Duration lockTimeout = Duration.ofSeconds(30);
+
+    /** How long a duplicate waits for the first request before it is answered with 409. */
+    private Duration waitTimeout = Duration.ofSeconds(10);
+
+    /** Interval at which a waiting duplicate checks whether the first request completed. */
+    private Duration pollInterval = Duration.ofMillis(50);
+}
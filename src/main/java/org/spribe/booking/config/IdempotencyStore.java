@@ -0,0 +1,44 @@
+package org.spribe.booking.config;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Records of requests carrying an {@code Idempotency-Key}. A key is first claimed with a pending
+ * record and then either completed with the response or released so the request can run again.
+ */
+public interface IdempotencyStore {
+    /**
+     * Claims {@code key} for a request with the given fingerprint for at most {@code lockTimeout}.
+     *
+     * @return empty if the key was claimed, otherwise the record of the request holding it
+     */
+    Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lockTimeout);
+
+    /**
+     * Extends the claim on {@code key} by {@code lockTimeout} while the request with the given
+     * fingerprint still holds it; does nothing once the key was completed, released or lost.
+     */
+    void renew(String key, String fingerprint, Duration lockTimeout);
+
+    void complete(String key, IdempotencyRecord record, Duration ttl);
+
+    /**
+     * Frees {@code key} so the request can run again, while the request with the given fingerprint
+     * still holds it; a response or claim stored after this request lost the key is kept.
+     */
+    void release(String key, String fingerprint);
+
+    /**
+     * A claimed key: pending while {@code status} is zero, otherwise the stored response.
+     */
+    record IdempotencyRecord(String fingerprint, int status, String contentType, String body) {
+        static IdempotencyRecord pending(String fingerprint) {
+            return new IdempotencyRecord(fingerprint, 0, null, null);
+        }
+
+        boolean isPending() {
+            return status == 0;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.spribe.booking.config;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets held by this node. A bucket is updated with compare-and-set, so concurrent
+ * requests never wait on a lock; buckets that have filled up again are dropped by
+ * {@link #evictFull()}.
+ */
+public class InMemoryTokenBuckets implements TokenBuckets {
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryTokenBuckets() {
+        this(Clock.systemUTC());
+    }
+
+    InMemoryTokenBuckets(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public long tryAcquire(String key, AdmissionProperties.Limit limit) {
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(limit.getBurst(), clock.millis()));
+        return bucket.tryAcquire(limit, clock.millis());
+    }
+
+    @Override
+    public void refund(String key, AdmissionProperties.Limit limit) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(limit, clock.millis());
+        }
+    }
+
+    public void evictFull() {
+        long now = clock.millis();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now));
+    }
+
+    private static final class Bucket {
+        private final AtomicReference<State> state;
+        private volatile AdmissionProperties.Limit lastLimit;
+
+        Bucket(int burst, long now) {
+            state = new AtomicReference<>(new State(burst, now));
+        }
+
+        long tryAcquire(AdmissionProperties.Limit limit, long now) {
+            lastLimit = limit;
+            while (true) {
+                State current = state.get();
+                double tokens = current.tokensAt(now, limit);
+                if (tokens < 1) {
+                    return (long) Math.ceil((1 - tokens) * 1000 / limit.getRate());
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, Math.max(now, current.updatedAt())))) {
+                    return 0;
+                }
+            }
+        }
+
+        void refund(AdmissionProperties.Limit limit, long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = Math.min(limit.getBurst(), current.tokensAt(now, limit) + 1);
+                if (state.compareAndSet(current, new State(tokens, Math.max(now, current.updatedAt())))) {
+                    return;
+                }
+            }
+        }
+
+        boolean isIdle(long now) {
+            AdmissionProperties.Limit limit = lastLimit;
+            return limit == null || state.get().tokensAt(now, limit) >= limit.getBurst();
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+        double tokensAt(long now, AdmissionProperties.Limit limit) {
+            double refilled = Math.max(0, now - updatedAt) * limit.getRate() / 1000;
+            return Math.min(limit.getBurst(), tokens + refilled);
+        }
+    }
+}
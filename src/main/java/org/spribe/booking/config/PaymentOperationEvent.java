@@ -0,0 +1,22 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.spribe.booking.PaymentOperation")
+@Label("Payment Operation")
+@Description("A call of a PaymentService method")
+class PaymentOperationEvent extends ServiceOperationEvent {
+    @Label("Payment Id")
+    String paymentId;
+
+    @Label("Booking Id")
+    String bookingId;
+
+    @Label("User Id")
+    String userId;
+
+    @Label("Status")
+    String status;
+}
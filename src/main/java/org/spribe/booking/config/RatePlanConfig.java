@@ -0,0 +1,18 @@
+package org.spribe.booking.config;
+
+import org.spribe.booking.service.impl.RateCalendar;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RatePlanProperties.class)
+public class RatePlanConfig {
+
+    @Bean
+    public RateCalendar rateCalendar(RatePlanProperties properties) {
+        return new RateCalendar(properties, Clock.systemDefaultZone());
+    }
+}
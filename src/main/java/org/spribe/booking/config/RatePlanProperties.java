@@ -0,0 +1,62 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.DayOfWeek;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Modifiers of the rate plan applied on top of each unit's nightly price. Percentages of a
+ * season and of the weekend multiply; a length-of-stay discount applies to the whole stay.
+ */
+@Data
+@ConfigurationProperties(prefix = "booking.rates")
+public class RatePlanProperties {
+    /** Days from today the rate calendar is precomputed for; nights outside it are rated one by one. */
+    private int horizonDays = 730;
+
+    /** Percent added to the nightly price of weekend nights; negative values discount them. */
+    private int weekendPercent = 0;
+
+    /** Weekend nights, by the day they start on. */
+    private Set<DayOfWeek> weekendNights = EnumSet.of(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY);
+
+    /** Seasons in matching order; the first season containing a night applies to it. */
+    private List<Season> seasons = new ArrayList<>();
+
+    /** Discounts by length of stay; the one with the most minimum nights the stay reaches applies. */
+    private List<LengthOfStay> lengthOfStay = new ArrayList<>();
+
+    @Data
+    public static class Season {
+        private String name;
+
+        /** First night of the season, e.g. {@code --06-15}. */
+        private MonthDay from;
+
+        /** Last night of the season; before {@code from}, the season spans the turn of the year. */
+        private MonthDay to;
+
+        /** Percent added to the nightly price; negative values discount it. */
+        private int percent;
+
+        public boolean contains(MonthDay night) {
+            if (from.isAfter(to)) {
+                return !night.isBefore(from) || !night.isAfter(to);
+            }
+            return !night.isBefore(from) && !night.isAfter(to);
+        }
+    }
+
+    @Data
+    public static class LengthOfStay {
+        private int minNights;
+
+        private int discountPercent;
+    }
+}
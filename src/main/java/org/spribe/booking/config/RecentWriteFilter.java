@@ -0,0 +1,57 @@
+package org.spribe.booking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Binds the {@code X-User-Id} of the request for replica routing and records successful
+ * mutating requests as writes of that user.
+ */
+@RequiredArgsConstructor
+public class RecentWriteFilter extends OncePerRequestFilter {
+    static final String USER_ID_HEADER = "X-User-Id";
+    private static final Set<String> READ_METHODS = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name());
+
+    private final RecentWriteTracker recentWriteTracker;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        UUID userId = parseUserId(request.getHeader(USER_ID_HEADER));
+        if (userId == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        recentWriteTracker.bindCurrentUser(userId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            recentWriteTracker.clearCurrentUser();
+            if (!READ_METHODS.contains(request.getMethod()) && response.getStatus() < 400) {
+                recentWriteTracker.recordWrite(userId);
+            }
+        }
+    }
+
+    private UUID parseUserId(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(header);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.spribe.booking.config;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers which users wrote recently so their follow-up reads can be kept on the primary
+ * until the replicas have had time to catch up.
+ */
+public class RecentWriteTracker {
+    private static final ThreadLocal<UUID> CURRENT_USER = new ThreadLocal<>();
+
+    private final Map<UUID, Instant> lastWrites = new ConcurrentHashMap<>();
+    private final Duration maxStaleness;
+    private final Clock clock;
+
+    public RecentWriteTracker(Duration maxStaleness) {
+        this(maxStaleness, Clock.systemUTC());
+    }
+
+    RecentWriteTracker(Duration maxStaleness, Clock clock) {
+        this.maxStaleness = maxStaleness;
+        this.clock = clock;
+    }
+
+    public void bindCurrentUser(UUID userId) {
+        CURRENT_USER.set(userId);
+    }
+
+    public void clearCurrentUser() {
+        CURRENT_USER.remove();
+    }
+
+    public void recordWrite(UUID userId) {
+        if (!maxStaleness.isZero()) {
+            lastWrites.put(userId, clock.instant());
+        }
+    }
+
+    public boolean currentUserWroteRecently() {
+        UUID userId = CURRENT_USER.get();
+        if (userId == null) {
+            return false;
+        }
+
+        Instant lastWrite = lastWrites.get(userId);
+        if (lastWrite == null) {
+            return false;
+        }
+
+        if (lastWrite.plus(maxStaleness).isAfter(clock.instant())) {
+            return true;
+        }
+
+        lastWrites.remove(userId, lastWrite);
+        return false;
+    }
+
+    public void evictExpired() {
+        Instant cutoff = clock.instant().minus(maxStaleness);
+        lastWrites.values().removeIf(lastWrite -> !lastWrite.isAfter(cutoff));
+    }
+}
@@ -0,0 +1,89 @@
+package org.spribe.booking.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps idempotency records in Redis, so a retry is recognised whichever node it reaches. The key
+ * is claimed with {@code SET NX} and renewed or released only while it still holds the claimant's pending record. When Redis is unreachable the request runs as if it carried no key.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisIdempotencyStore implements IdempotencyStore {
+    private static final String KEY_PREFIX = "idempotency::";
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+    private static final RedisScript<Long> RENEW_PENDING = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            end
+            return 0
+            """, Long.class);
+    private static final RedisScript<Long> RELEASE_PENDING = RedisScript.of("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lockTimeout) {
+        try {
+            String pending = objectMapper.writeValueAsString(IdempotencyRecord.pending(fingerprint));
+            // The holder may release the key between the failed SET NX and the GET
+            for (int attempt = 0; attempt < MAX_CLAIM_ATTEMPTS; attempt++) {
+                if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + key, pending, lockTimeout))) {
+                    return Optional.empty();
+                }
+                String existing = redisTemplate.opsForValue().get(KEY_PREFIX + key);
+                if (existing != null) {
+                    return Optional.of(objectMapper.readValue(existing, IdempotencyRecord.class));
+                }
+            }
+            return Optional.empty();
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Idempotency claim for {} failed, running the request: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public void renew(String key, String fingerprint, Duration lockTimeout) {
+        try {
+            redisTemplate.execute(RENEW_PENDING, List.of(KEY_PREFIX + key),
+                    objectMapper.writeValueAsString(IdempotencyRecord.pending(fingerprint)),
+                    Long.toString(lockTimeout.toMillis()));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not renew idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void complete(String key, IdempotencyRecord record, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + key, objectMapper.writeValueAsString(record), ttl);
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not store the response for idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void release(String key, String fingerprint) {
+        try {
+            redisTemplate.execute(RELEASE_PENDING, List.of(KEY_PREFIX + key),
+                    objectMapper.writeValueAsString(IdempotencyRecord.pending(fingerprint)));
+        } catch (RuntimeException | JsonProcessingException e) {
+            log.warn("Could not release idempotency key {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package org.spribe.booking.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.util.List;
+
+/**
+ * Token buckets shared by all nodes. The refill and the take run as one Lua script on the
+ * Redis clock, so nodes with skewed clocks still agree on the bucket. When Redis is unreachable
+ * requests are admitted rather than failed.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RedisTokenBuckets implements TokenBuckets {
+    private static final String KEY_PREFIX = "admission::";
+    private static final RedisScript<Long> TAKE_TOKEN = RedisScript.of("""
+            local now = redis.call('TIME')
+            local now_ms = tonumber(now[1]) * 1000 + math.floor(tonumber(now[2]) / 1000)
+            local rate = tonumber(ARGV[1])
+            local burst = tonumber(ARGV[2])
+            local state = redis.call('HMGET', KEYS[1], 'tokens', 'updated_at')
+            local tokens = tonumber(state[1]) or burst
+            local updated_at = tonumber(state[2]) or now_ms
+            tokens = math.min(burst, tokens + math.max(0, now_ms - updated_at) * rate / 1000)
+            local wait = 0
+            if tokens >= 1 then
+                tokens = tokens - 1
+            else
+                wait = math.ceil((1 - tokens) * 1000 / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'updated_at', now_ms)
+            redis.call('PEXPIRE', KEYS[1], math.ceil(burst * 1000 / rate) + 1000)
+            return wait
+            """, Long.class);
+    private static final RedisScript<Long> REFUND_TOKEN = RedisScript.of("""
+            local tokens = tonumber(redis.call('HGET', KEYS[1], 'tokens'))
+            if tokens then
+                redis.call('HSET', KEYS[1], 'tokens', tostring(math.min(tonumber(ARGV[1]), tokens + 1)))
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+
+    @Override
+    public long tryAcquire(String key, AdmissionProperties.Limit limit) {
+        try {
+            Long wait = redisTemplate.execute(TAKE_TOKEN, List.of(KEY_PREFIX + key),
+                    Double.toString(limit.getRate()), Integer.toString(limit.getBurst()));
+            return wait != null ? wait : 0;
+        } catch (RuntimeException e) {
+            log.warn("Rate limit check for {} failed, admitting the request: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+
+    @Override
+    public void refund(String key, AdmissionProperties.Limit limit) {
+        try {
+            redisTemplate.execute(REFUND_TOKEN, List.of(KEY_PREFIX + key), Integer.toString(limit.getBurst()));
+        } catch (RuntimeException e) {
+            log.warn("Could not refund rate limit token for {}: {}", key, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.spribe.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the configured replica pools.
+ * <p>
+ * Hibernate marks the connection of a read-only transaction as read-only before issuing any
+ * statement; {@link LazyConnectionDataSourceProxy} defers fetching the physical connection until
+ * then and takes it from the read-only data source. Everything else, including Liquibase,
+ * uses the workload pools of the primary, see {@link DataSourceConfig}.
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+@ConditionalOnProperty(prefix = "booking.datasource.replicas", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class ReplicaDataSourceConfig {
+    private final ReplicaDataSourceProperties properties;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public RecentWriteTracker recentWriteTracker() {
+        return new RecentWriteTracker(properties.getMaxStaleness());
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(WorkloadRoutingDataSource workloadRoutingDataSource,
+                                                             RecentWriteTracker recentWriteTracker) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getPools().size(); i++) {
+            ReplicaDataSourceProperties.Pool pool = properties.getPools().get(i);
+
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(pool.getUrl());
+            replica.setUsername(pool.getUsername());
+            replica.setPassword(pool.getPassword());
+            replica.setMaximumPoolSize(pool.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // Replica pools are not beans, so Spring Boot does not bind their metrics
+            meterRegistry.ifAvailable(registry ->
+                    replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} replica pool(s), max staleness {}",
+                replicas.size(), properties.getMaxStaleness());
+
+        return new ReplicaRoutingDataSource(workloadRoutingDataSource, replicas, recentWriteTracker);
+    }
+
+    @Bean
+    public RecentWriteFilter recentWriteFilter(RecentWriteTracker recentWriteTracker) {
+        return new RecentWriteFilter(recentWriteTracker);
+    }
+
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void evictExpiredWrites() {
+        recentWriteTracker().evictExpired();
+    }
+}
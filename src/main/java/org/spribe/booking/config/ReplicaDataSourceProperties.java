@@ -0,0 +1,30 @@
+package org.spribe.booking.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "booking.datasource.replicas")
+public class ReplicaDataSourceProperties {
+    private boolean enabled = false;
+
+    /**
+     * How long read-only requests of a user stay on the primary after that user's last write.
+     * Zero sends every read-only transaction to a replica.
+     */
+    private Duration maxStaleness = Duration.ofSeconds(5);
+
+    private List<Pool> pools = new ArrayList<>();
+
+    @Data
+    public static class Pool {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
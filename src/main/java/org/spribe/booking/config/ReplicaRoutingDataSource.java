@@ -0,0 +1,58 @@
+package org.spribe.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Target for read-only connections: spreads them round-robin over the replica pools, except
+ * for users that wrote within the staleness bound, whose reads stay on the primary.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    static final String PRIMARY = "primary";
+    static final String REPLICA_PREFIX = "replica-";
+
+    private final List<DataSource> replicas;
+    private final RecentWriteTracker recentWriteTracker;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, RecentWriteTracker recentWriteTracker) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica pool must be configured");
+        }
+        this.replicas = replicas;
+        this.recentWriteTracker = recentWriteTracker;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(REPLICA_PREFIX + i, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (recentWriteTracker.currentUserWroteRecently()) {
+            return PRIMARY;
+        }
+        int index = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        return REPLICA_PREFIX + index;
+    }
+
+    @Override
+    public void close() {
+        for (DataSource replica : replicas) {
+            if (replica instanceof HikariDataSource hikari) {
+                hikari.close();
+            }
+        }
+    }
+}
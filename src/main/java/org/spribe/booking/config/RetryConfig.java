@@ -0,0 +1,11 @@
+package org.spribe.booking.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.retry.annotation.EnableRetry;
+
+// Retry advice must wrap the transaction advice so a retried attempt runs in a new transaction
+@Configuration
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryConfig {
+}
@@ -0,0 +1,34 @@
+package org.spribe.booking.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Lets through about one in {@code sampleEvery} statements logged with the {@link #SAMPLED}
+ * marker below WARN, e.g. the per-request lines of the read paths. The decision is made before
+ * the level check and before the message is formatted, so a dropped statement costs a random
+ * number. Configured in {@code logback-spring.xml} from {@code booking.logging.sample-every}.
+ */
+public class SamplingTurboFilter extends TurboFilter {
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private int sampleEvery = 100;
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (marker == null || !marker.contains(SAMPLED) || level.isGreaterOrEqual(Level.WARN) || sampleEvery <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextInt(sampleEvery) == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,180 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+
+import java.lang.reflect.Method;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards and measures every {@code @Scheduled} method. A run that starts while the previous run
+ * of the same job is still going is skipped, so a slow job never piles up behind itself. Each
+ * job reports its duration and outcome, how late it started relative to its schedule, and how
+ * many runs it skipped.
+ * <p>
+ * Runs after {@link WorkloadAspect} but before the transaction advice, so the timings include
+ * the commit.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ScheduledJobAspect implements EmbeddedValueResolverAware {
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+    private final Map<String, JobState> jobs = new ConcurrentHashMap<>();
+    private StringValueResolver valueResolver;
+
+    @Autowired
+    public ScheduledJobAspect(MeterRegistry meterRegistry) {
+        this(meterRegistry, Clock.systemDefaultZone());
+    }
+
+    ScheduledJobAspect(MeterRegistry meterRegistry, Clock clock) {
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object runJob(ProceedingJoinPoint joinPoint) throws Throwable {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+        String job = targetClass.getSimpleName() + "." + method.getName();
+        JobState state = jobs.computeIfAbsent(job, name -> new JobState());
+
+        if (!state.running.compareAndSet(false, true)) {
+            log.warn("Skipping {}: the previous run is still in progress", job);
+            Counter.builder("booking.scheduler.job.skipped")
+                    .tag("job", job)
+                    .register(meterRegistry)
+                    .increment();
+            return null;
+        }
+
+        Instant start = clock.instant();
+        try {
+            recordLag(job, state, AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class), start);
+            return measure(job, joinPoint);
+        } finally {
+            state.lastEnd = clock.instant();
+            state.running.set(false);
+        }
+    }
+
+    private Object measure(String job, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder("booking.scheduler.job.duration")
+                    .tag("job", job)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private void recordLag(String job, JobState state, Scheduled scheduled, Instant start) {
+        Instant expected = expectedStart(scheduled, state);
+        state.lastExpected = expected != null ? expected : start;
+        if (expected == null) {
+            return;
+        }
+
+        Duration lag = Duration.between(expected, start);
+        Timer.builder("booking.scheduler.job.lag")
+                .tag("job", job)
+                .register(meterRegistry)
+                .record(lag.isNegative() ? Duration.ZERO : lag);
+    }
+
+    /**
+     * When the current run was due, following the same rules as Spring's triggers: fixed-rate runs
+     * keep to their grid, fixed-delay runs count from the end of the previous run and cron runs
+     * from the later of the previous due time and end. Unknown for the first run of a job.
+     */
+    private Instant expectedStart(Scheduled scheduled, JobState state) {
+        if (scheduled == null || state.lastExpected == null) {
+            return null;
+        }
+
+        String cron = resolve(scheduled.cron());
+        if (!cron.isEmpty()) {
+            if (Scheduled.CRON_DISABLED.equals(cron)) {
+                return null;
+            }
+            String zone = resolve(scheduled.zone());
+            ZoneId zoneId = zone.isEmpty() ? clock.getZone() : ZoneId.of(zone);
+            Instant after = state.lastEnd != null && state.lastEnd.isAfter(state.lastExpected)
+                    ? state.lastEnd : state.lastExpected;
+            return CronExpression.parse(cron).next(after.atZone(zoneId)).toInstant();
+        }
+
+        Duration rate = interval(scheduled, scheduled.fixedRate(), scheduled.fixedRateString());
+        if (rate != null) {
+            return state.lastExpected.plus(rate);
+        }
+        Duration delay = interval(scheduled, scheduled.fixedDelay(), scheduled.fixedDelayString());
+        if (delay != null && state.lastEnd != null) {
+            return state.lastEnd.plus(delay);
+        }
+        return null;
+    }
+
+    private Duration interval(Scheduled scheduled, long value, String text) {
+        if (value < 0) {
+            text = resolve(text);
+            if (text.isEmpty()) {
+                return null;
+            }
+            if (text.startsWith("P")) {
+                return Duration.parse(text);
+            }
+            value = Long.parseLong(text);
+        }
+        return Duration.of(value, scheduled.timeUnit().toChronoUnit());
+    }
+
+    private String resolve(String value) {
+        if (value.isEmpty() || valueResolver == null) {
+            return value;
+        }
+        String resolved = valueResolver.resolveStringValue(value);
+        return resolved != null ? resolved.trim() : "";
+    }
+
+    private static class JobState {
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile Instant lastExpected;
+        private volatile Instant lastEnd;
+    }
+}
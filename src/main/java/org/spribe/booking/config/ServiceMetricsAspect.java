@@ -0,0 +1,48 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the booking, unit, payment and user services in
+ * {@code booking.service.invocations}, with a percentile histogram, tagged with the service,
+ * the method and the exception thrown ({@code none} on success). Runs outside the retry and
+ * transaction advice, so a call is timed as the caller sees it, including commit and retries.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * org.spribe.booking.service.BookingService+.*(..)) " +
+            "|| execution(public * org.spribe.booking.service.UnitService+.*(..)) " +
+            "|| execution(public * org.spribe.booking.service.PaymentService+.*(..)) " +
+            "|| execution(public * org.spribe.booking.service.UserService+.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("booking.service.invocations")
+                    .tag("service", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+
+/**
+ * Fields shared by the events {@link FlightRecorderAspect} emits around service calls. The
+ * event duration is the duration of the call, including its transaction.
+ */
+@Category({"Booking Service", "Services"})
+@StackTrace(false)
+abstract class ServiceOperationEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,79 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Runs the {@link WarmupTask}s on the application task executor once the context has started,
+ * so startup does not wait for them. Reported as out of service until every task has run; the
+ * readiness health group includes it, so no traffic is routed to a cold instance. A failing task
+ * is logged and does not hold readiness back.
+ */
+@Slf4j
+@Component
+public class StartupWarmup implements HealthIndicator {
+    private final ObjectProvider<WarmupTask> tasks;
+    private final TaskExecutor taskExecutor;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, String> phases = Collections.synchronizedMap(new LinkedHashMap<>());
+    private volatile boolean complete;
+
+    public StartupWarmup(ObjectProvider<WarmupTask> tasks,
+                         @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                         MeterRegistry meterRegistry) {
+        this.tasks = tasks;
+        this.taskExecutor = taskExecutor;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void startWarmup() {
+        taskExecutor.execute(this::warmUp);
+    }
+
+    void warmUp() {
+        long start = System.nanoTime();
+        tasks.orderedStream().forEach(this::run);
+        complete = true;
+        log.info("Warm-up finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void run(WarmupTask task) {
+        String name = AopUtils.getTargetClass(task).getSimpleName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            task.warmUp();
+        } catch (RuntimeException e) {
+            outcome = "failure";
+            log.error("Warm-up task {} failed: {}", name, e.getMessage(), e);
+        }
+        long nanos = sample.stop(Timer.builder("booking.startup.warmup")
+                .tag("task", name)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        phases.put(name, outcome + " in " + nanos / 1_000_000 + " ms");
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = complete ? Health.up() : Health.outOfService();
+        synchronized (phases) {
+            return health.withDetails(phases).build();
+        }
+    }
+}
@@ -0,0 +1,474 @@
+package org.spribe.booking.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import net.datafaker.Faker;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.model.enumeration.EventType;
+import org.spribe.booking.model.enumeration.PaymentMethod;
+import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.spribe.booking.model.enumeration.UserRole;
+import org.spribe.booking.repository.CsvCopyWriter;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.RateCalendar;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates a reproducible data set of units, users, bookings, payments and events and loads it
+ * with {@code COPY}, for running search and booking against production-sized data locally.
+ * <p>
+ * Every row is derived from the seed and its index only, so each table is streamed in its own
+ * pass without keeping generated ids in memory, and the same seed produces the same rows on the
+ * same day (dates are relative to the start of the current day). Generated units and users are
+ * recognisable by their description and e-mail domain; they and everything attached to them are
+ * removed in bulk before generating and, optionally, on shutdown.
+ * <p>
+ * Runs as the first warm-up task, before the caches are filled from the generated data.
+ */
+@Slf4j
+@Component
+@Profile("!test")
+@UseWorkload(Workload.BULK)
+@Order(1)
+@RequiredArgsConstructor
+public class SyntheticDataGenerator implements WarmupTask, DisposableBean {
+    static final String UNIT_DESCRIPTION_PREFIX = "Synthetic ";
+    static final String EMAIL_DOMAIN = "synthetic.test";
+
+    private static final int HISTORY_DAYS = 365;
+    private static final int FUTURE_DAYS = 180;
+    private static final int MAX_LEAD_DAYS = 60;
+
+    private static final String SYNTHETIC_UNITS = "SELECT id FROM units WHERE description LIKE '" + UNIT_DESCRIPTION_PREFIX + "%'";
+    private static final String SYNTHETIC_USERS = "SELECT id FROM users WHERE email LIKE '%@" + EMAIL_DOMAIN + "'";
+    private static final String SYNTHETIC_BOOKING_OWNERS = "unit_id IN (" + SYNTHETIC_UNITS + ") OR user_id IN (" + SYNTHETIC_USERS + ")";
+    private static final List<String> CLEANUP = List.of(
+            "DELETE FROM events WHERE user_id IN (" + SYNTHETIC_USERS + ") OR entity_id IN (" + SYNTHETIC_UNITS + ")",
+            "DELETE FROM payments_archive WHERE booking_id IN (SELECT id FROM bookings_archive WHERE " + SYNTHETIC_BOOKING_OWNERS + ")",
+            "DELETE FROM bookings_archive WHERE " + SYNTHETIC_BOOKING_OWNERS,
+            "DELETE FROM payments WHERE booking_id IN (SELECT id FROM bookings WHERE " + SYNTHETIC_BOOKING_OWNERS + ")",
+            "DELETE FROM bookings WHERE " + SYNTHETIC_BOOKING_OWNERS,
+            "DELETE FROM units WHERE description LIKE '" + UNIT_DESCRIPTION_PREFIX + "%'",
+            "DELETE FROM users WHERE email LIKE '%@" + EMAIL_DOMAIN + "'");
+
+    private static final String COPY_USERS = "COPY users (id, first_name, last_name, email, role, active, created_at, updated_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_UNITS = "COPY units (id, number_of_rooms, type, floor, base_price, total_price, " +
+            "description, available, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_BOOKINGS = "COPY bookings (id, unit_id, user_id, check_in_date, check_out_date, " +
+            "total_price, status, payment_deadline, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_PAYMENTS = "COPY payments (id, booking_id, amount, status, payment_method, " +
+            "transaction_id, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+    private static final String COPY_EVENTS = "COPY events (id, type, entity_id, user_id, description, created_at) " +
+            "FROM STDIN WITH (FORMAT csv)";
+
+    // Separate random streams per kind of row, so changing one volume does not reshuffle the others
+    private static final long USER_STREAM = 1;
+    private static final long UNIT_STREAM = 2;
+    private static final long BOOKING_STREAM = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PriceCalculator priceCalculator;
+    private final RateCalendar rateCalendar;
+
+    @Value("${data-initializer.enabled:false}")
+    private boolean enabled;
+
+    @Value("${data-initializer.cleanup-on-shutdown:false}")
+    private boolean cleanupOnShutdown;
+
+    @Value("${data-initializer.seed:42}")
+    private long seed;
+
+    @Value("${data-initializer.number-of-units:90}")
+    private int numberOfUnits;
+
+    @Value("${data-initializer.number-of-users:0}")
+    private int numberOfUsers;
+
+    @Value("${data-initializer.bookings-per-unit:0}")
+    private int bookingsPerUnit;
+
+    private LocalDateTime anchor;
+    private LocalDateTime now;
+
+    @Override
+    public void warmUp() {
+        if (!enabled) {
+            log.info("Data initializer is disabled");
+            return;
+        }
+
+        startAt(LocalDateTime.now());
+        log.info("Generating {} units, {} users and ~{} bookings per unit with seed {}",
+                numberOfUnits, numberOfUsers, bookingsPerUnit, seed);
+        long start = System.nanoTime();
+
+        cleanup();
+
+        // Faker draws from the row's own seed, so names do not depend on the order rows are written in
+        Random nameRandom = new Random();
+        Faker faker = new Faker(nameRandom);
+        long users = copy(COPY_USERS, writer -> {
+            for (int i = 0; i < numberOfUsers; i++) {
+                writeUser(writer, i, faker, nameRandom);
+            }
+        });
+        long units = copy(COPY_UNITS, writer -> {
+            for (int i = 0; i < numberOfUnits; i++) {
+                writeUnit(writer, unit(i));
+            }
+        });
+
+        long bookings = 0;
+        long payments = 0;
+        long events = 0;
+        if (numberOfUsers > 0 && bookingsPerUnit > 0) {
+            ensureEventPartitions();
+            bookings = copy(COPY_BOOKINGS, writer -> forEachBooking(booking -> writeBooking(writer, booking)));
+            payments = copy(COPY_PAYMENTS, writer -> forEachBooking(booking -> writePayment(writer, booking)));
+            events = copy(COPY_EVENTS, writer -> forEachBooking(booking -> writeEvents(writer, booking)));
+        }
+
+        log.info("Generated {} users, {} units, {} bookings, {} payments and {} events in {} ms",
+                users, units, bookings, payments, events, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void destroy() {
+        if (!enabled || !cleanupOnShutdown) {
+            log.info("Cleanup on shutdown is disabled");
+            return;
+        }
+
+        // Called on the bean itself, not through the proxy that binds the workload
+        Workload previous = WorkloadContext.bind(Workload.BULK);
+        try {
+            cleanup();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private void cleanup() {
+        long deleted = transactionTemplate.execute(status -> {
+            long rows = 0;
+            for (String statement : CLEANUP) {
+                rows += jdbcTemplate.update(statement);
+            }
+            return rows;
+        });
+        log.info("Removed {} synthetic rows", deleted);
+    }
+
+    SyntheticUnit unit(int index) {
+        SplittableRandom random = random(UNIT_STREAM, index);
+        LocalDateTime createdAt = anchor.minusDays(HISTORY_DAYS + MAX_LEAD_DAYS + random.nextInt(1000))
+                .plusMinutes(random.nextInt(24 * 60));
+
+        AccommodationType type = pick(random, AccommodationType.values(), 0.25, 0.5, 0.25);
+        int rooms = 1 + pickIndex(random, 0.3, 0.35, 0.2, 0.1, 0.05);
+        int floor = type == AccommodationType.HOME ? random.nextInt(3) : (int) Math.min(30, -6 * Math.log(1 - random.nextDouble()));
+
+        // Log-normal nightly price, higher for homes and for every extra room
+        double typeFactor = switch (type) {
+            case HOME -> 1.3;
+            case APARTMENTS -> 1.1;
+            case FLAT -> 1.0;
+        };
+        double price = 60 * Math.exp(0.5 * random.nextGaussian()) * typeFactor * (1 + 0.25 * (rooms - 1));
+        BigDecimal basePrice = BigDecimal.valueOf(Math.max(20, Math.min(2000, price))).setScale(2, RoundingMode.HALF_UP);
+        BigDecimal totalPrice = priceCalculator.nightlyPrice(basePrice);
+
+        return new SyntheticUnit(index, uuid(createdAt, random), type, rooms, floor, basePrice, totalPrice, createdAt);
+    }
+
+    /**
+     * Lays the bookings of a unit out along its calendar: most stays follow each other without
+     * overlapping, cancelled ones overlap whatever comes next, and a fifth of the units are
+     * popular and get several times more bookings than the rest.
+     */
+    List<SyntheticBooking> bookings(SyntheticUnit unit) {
+        SplittableRandom random = random(BOOKING_STREAM, unit.index());
+        double popularity = random.nextDouble() < 0.2 ? 3.0 : 0.5 + random.nextDouble() * 0.5;
+        int count = (int) Math.round(bookingsPerUnit * popularity * (0.5 + random.nextDouble()));
+        if (count == 0) {
+            return List.of();
+        }
+
+        double meanGapDays = Math.max(0.5, (HISTORY_DAYS + FUTURE_DAYS) / (double) count - 3);
+        LocalDateTime calendar = anchor.minusDays(HISTORY_DAYS).withHour(15);
+        LocalDateTime end = anchor.plusDays(FUTURE_DAYS);
+
+        List<SyntheticBooking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime checkIn = calendar.plusDays((long) (-meanGapDays * Math.log(1 - random.nextDouble())));
+            int nights = 1 + pickIndex(random, 0.2, 0.25, 0.2, 0.1, 0.08, 0.07, 0.1) + (random.nextDouble() < 0.05 ? 7 : 0);
+            LocalDateTime checkOut = checkIn.plusDays(nights).withHour(11);
+            if (checkIn.isAfter(end)) {
+                break;
+            }
+
+            BookingStatus status = status(random, checkIn, checkOut);
+            LocalDateTime createdAt;
+            LocalDateTime paymentDeadline;
+            if (status == BookingStatus.PENDING_PAYMENT) {
+                // Pending bookings are the ones made in the last few minutes, so their holds are still live
+                createdAt = now.minusMinutes(random.nextInt(15));
+                paymentDeadline = createdAt.plusMinutes(15);
+            } else {
+                createdAt = earliest(checkIn.minusDays(random.nextInt(MAX_LEAD_DAYS + 1)).minusHours(random.nextInt(24)), anchor);
+                paymentDeadline = createdAt.plusMinutes(15);
+            }
+
+            int userIndex = random.nextInt(numberOfUsers);
+            // Priced like a booking made through the API, under the rate plan
+            BigDecimal totalPrice = priceCalculator.stayPrice(unit.basePrice(), rateCalendar.stayRate(checkIn, checkOut));
+            UUID bookingId = uuid(createdAt, random);
+
+            PaymentStatus paymentStatus = switch (status) {
+                case COMPLETED, CONFIRMED -> PaymentStatus.COMPLETED;
+                case PENDING_PAYMENT -> PaymentStatus.PENDING;
+                case CANCELLED -> random.nextBoolean() ? PaymentStatus.CANCELLED : PaymentStatus.REFUNDED;
+            };
+            LocalDateTime paidAt = earliest(createdAt.plusMinutes(1 + random.nextInt(10)), now);
+            UUID paymentId = uuid(paidAt, random);
+            PaymentMethod paymentMethod = PaymentMethod.values()[random.nextInt(PaymentMethod.values().length)];
+
+            bookings.add(new SyntheticBooking(bookingId, unit.id(), userId(userIndex), checkIn, checkOut, totalPrice,
+                    status, paymentDeadline, createdAt, paymentId, paymentStatus, paymentMethod, paidAt,
+                    uuid(createdAt, random), uuid(paidAt, random)));
+
+            if (status != BookingStatus.CANCELLED) {
+                calendar = checkOut.withHour(15);
+            }
+        }
+        return bookings;
+    }
+
+    private BookingStatus status(SplittableRandom random, LocalDateTime checkIn, LocalDateTime checkOut) {
+        double roll = random.nextDouble();
+        if (!checkOut.isAfter(anchor)) {
+            return roll < 0.9 ? BookingStatus.COMPLETED : BookingStatus.CANCELLED;
+        }
+        if (!checkIn.isAfter(now)) {
+            return BookingStatus.CONFIRMED;
+        }
+        if (roll < 0.85) {
+            return BookingStatus.CONFIRMED;
+        }
+        return roll < 0.93 ? BookingStatus.CANCELLED : BookingStatus.PENDING_PAYMENT;
+    }
+
+    private void forEachBooking(BookingWriter writer) throws SQLException {
+        for (int i = 0; i < numberOfUnits; i++) {
+            for (SyntheticBooking booking : bookings(unit(i))) {
+                writer.write(booking);
+            }
+        }
+    }
+
+    private void writeUser(CsvCopyWriter writer, int index, Faker faker, Random nameRandom) throws SQLException {
+        SplittableRandom random = random(USER_STREAM, index);
+        LocalDateTime createdAt = userCreatedAt(random);
+        UUID id = uuid(createdAt, random);
+        nameRandom.setSeed(random.nextLong());
+        writer.value(id)
+                .text(faker.name().firstName())
+                .text(faker.name().lastName())
+                .text("user" + index + "@" + EMAIL_DOMAIN)
+                .value(UserRole.USER)
+                .value(random.nextDouble() < 0.97)
+                .value(createdAt)
+                .value(createdAt)
+                .endRow();
+    }
+
+    UUID userId(int index) {
+        SplittableRandom random = random(USER_STREAM, index);
+        return uuid(userCreatedAt(random), random);
+    }
+
+    private LocalDateTime userCreatedAt(SplittableRandom random) {
+        return anchor.minusDays(HISTORY_DAYS + MAX_LEAD_DAYS + random.nextInt(1500)).plusMinutes(random.nextInt(24 * 60));
+    }
+
+    private void writeUnit(CsvCopyWriter writer, SyntheticUnit unit) throws SQLException {
+        // A unit with a live booking is not available for new bookings, as BookingService would leave it
+        boolean available = bookingsPerUnit == 0 || numberOfUsers == 0 || bookings(unit).stream()
+                .noneMatch(booking -> booking.status() == BookingStatus.CONFIRMED
+                        || booking.status() == BookingStatus.PENDING_PAYMENT);
+
+        writer.value(unit.id())
+                .value(unit.rooms())
+                .value(unit.type())
+                .value(unit.floor())
+                .value(unit.basePrice())
+                .value(unit.totalPrice())
+                .text(UNIT_DESCRIPTION_PREFIX + describe(unit))
+                .value(available)
+                .value(unit.createdAt())
+                .value(unit.createdAt())
+                .endRow();
+    }
+
+    private void writeBooking(CsvCopyWriter writer, SyntheticBooking booking) throws SQLException {
+        writer.value(booking.id())
+                .value(booking.unitId())
+                .value(booking.userId())
+                .value(booking.checkIn())
+                .value(booking.checkOut())
+                .value(booking.totalPrice())
+                .value(booking.status())
+                .value(booking.paymentDeadline())
+                .value(booking.createdAt())
+                .value(booking.createdAt())
+                .endRow();
+    }
+
+    private void writePayment(CsvCopyWriter writer, SyntheticBooking booking) throws SQLException {
+        writer.value(booking.paymentId())
+                .value(booking.id())
+                .value(booking.totalPrice())
+                .value(booking.paymentStatus())
+                .value(booking.paymentMethod())
+                .text(booking.paymentStatus() == PaymentStatus.PENDING ? null : "txn-" + booking.paymentId())
+                .value(booking.paidAt())
+                .value(booking.paidAt())
+                .endRow();
+    }
+
+    private void writeEvents(CsvCopyWriter writer, SyntheticBooking booking) throws SQLException {
+        writer.value(booking.bookingEventId())
+                .value(EventType.BOOKING_CREATED)
+                .value(booking.id())
+                .value(booking.userId())
+                .text("Booking created for unit: " + booking.unitId())
+                .value(booking.createdAt())
+                .endRow();
+        writer.value(booking.paymentEventId())
+                .value(EventType.PAYMENT_CREATED)
+                .value(booking.paymentId())
+                .value(booking.userId())
+                .text("Payment created for booking: " + booking.id())
+                .value(booking.paidAt())
+                .endRow();
+    }
+
+    private void ensureEventPartitions() {
+        YearMonth month = YearMonth.from(earliestEventTime());
+        YearMonth last = YearMonth.from(anchor);
+        for (; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.queryForObject("SELECT create_events_partition(?)", String.class, month.atDay(1));
+        }
+    }
+
+    /**
+     * Pins generation to {@code time}: finished history is laid out up to the start of that day,
+     * pending holds are placed just before {@code time} so they are still live when inserted.
+     */
+    void startAt(LocalDateTime time) {
+        now = time;
+        anchor = time.toLocalDate().atStartOfDay();
+    }
+
+    /**
+     * Lower bound of the creation times of generated bookings and payments, and so of their events:
+     * a booking is made up to MAX_LEAD_DAYS and 23 hours before a check-in at 15:00 on the first
+     * day of the history, which is on the day before {@code HISTORY_DAYS + MAX_LEAD_DAYS} ago.
+     */
+    LocalDateTime earliestEventTime() {
+        return anchor.minusDays(HISTORY_DAYS + MAX_LEAD_DAYS + 1);
+    }
+
+    private long copy(String copySql, CsvCopyWriter.Rows rows) {
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection -> CsvCopyWriter.copy(connection, copySql, rows));
+    }
+
+    private String describe(SyntheticUnit unit) {
+        return String.format("%s with %d %s on the %d%s floor.",
+                unit.type().name().toLowerCase(),
+                unit.rooms(),
+                unit.rooms() == 1 ? "room" : "rooms",
+                unit.floor(),
+                getFloorSuffix(unit.floor()));
+    }
+
+    private String getFloorSuffix(int floor) {
+        if (floor % 100 >= 11 && floor % 100 <= 13) {
+            return "th";
+        }
+        return switch (floor % 10) {
+            case 1 -> "st";
+            case 2 -> "nd";
+            case 3 -> "rd";
+            default -> "th";
+        };
+    }
+
+    private SplittableRandom random(long stream, long index) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream * 0xBF58476D1CE4E5B9L + index);
+    }
+
+    /** A version 7 UUID for the given creation time, with its random bits taken from {@code random}. */
+    private UUID uuid(LocalDateTime createdAt, SplittableRandom random) {
+        long millis = createdAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+        long mostSigBits = (millis << 16) | 0x7000L | random.nextInt(1 << 12);
+        long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private static <T> T pick(SplittableRandom random, T[] values, double... weights) {
+        return values[pickIndex(random, weights)];
+    }
+
+    private static int pickIndex(SplittableRandom random, double... weights) {
+        double roll = random.nextDouble();
+        for (int i = 0; i < weights.length - 1; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    record SyntheticUnit(int index, UUID id, AccommodationType type, int rooms, int floor,
+                         BigDecimal basePrice, BigDecimal totalPrice, LocalDateTime createdAt) {}
+
+    record SyntheticBooking(UUID id, UUID unitId, UUID userId, LocalDateTime checkIn, LocalDateTime checkOut,
+                            BigDecimal totalPrice, BookingStatus status, LocalDateTime paymentDeadline,
+                            LocalDateTime createdAt, UUID paymentId, PaymentStatus paymentStatus,
+                            PaymentMethod paymentMethod, LocalDateTime paidAt,
+                            UUID bookingEventId, UUID paymentEventId) {}
+
+    @FunctionalInterface
+    private interface BookingWriter {
+        void write(SyntheticBooking booking) throws SQLException;
+    }
+}
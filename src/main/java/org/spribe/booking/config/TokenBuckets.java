@@ -0,0 +1,20 @@
+package org.spribe.booking.config;
+
+/**
+ * Token buckets keyed by name. Each key is filled at {@code limit.rate} tokens per second up to
+ * {@code limit.burst} tokens, and every admitted request takes one token.
+ */
+public interface TokenBuckets {
+    /**
+     * Takes a token from the bucket of {@code key}.
+     *
+     * @return zero if a token was taken, otherwise the milliseconds until one is available
+     */
+    long tryAcquire(String key, AdmissionProperties.Limit limit);
+
+    /**
+     * Puts back a token taken from the bucket of {@code key} by a request that was then rejected
+     * anyway, up to {@code limit.burst} tokens.
+     */
+    void refund(String key, AdmissionProperties.Limit limit);
+}
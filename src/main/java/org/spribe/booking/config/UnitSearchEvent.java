@@ -0,0 +1,22 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("org.spribe.booking.UnitSearch")
+@Label("Unit Search")
+@Description("A unit search with its criteria and the size of the result")
+class UnitSearchEvent extends ServiceOperationEvent {
+    @Label("Criteria")
+    String criteria;
+
+    @Label("Page")
+    int page;
+
+    @Label("Page Size")
+    int size;
+
+    @Label("Total Elements")
+    long totalElements;
+}
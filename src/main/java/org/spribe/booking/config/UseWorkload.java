@@ -0,0 +1,19 @@
+package org.spribe.booking.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated method, or every method of the annotated bean, on the connection pool of
+ * the given {@link Workload}. {@code @Scheduled} methods run as {@link Workload#BACKGROUND}
+ * without this annotation.
+ */
+@Documented
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface UseWorkload {
+    Workload value();
+}
@@ -0,0 +1,98 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Reports virtual threads that stay pinned to their carrier thread, i.e. block inside a
+ * {@code synchronized} block or a native frame, for longer than
+ * {@code booking.virtual-threads.pinned-threshold}. Pinned time is recorded in the
+ * {@code booking.virtual_threads.pinned} timer, tagged with the first frame outside the JDK, and
+ * the full stack is logged the first time a site shows up.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty("spring.threads.virtual.enabled")
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 20;
+
+    private final MeterRegistry meterRegistry;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+
+    @Value("${booking.virtual-threads.pinned-threshold:20ms}")
+    private Duration pinnedThreshold;
+
+    private volatile RecordingStream recordingStream;
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withThreshold(pinnedThreshold).withStackTrace();
+        recordingStream.onEvent(PINNED_EVENT, this::onPinned);
+        recordingStream.startAsync();
+        log.info("Reporting virtual threads pinned for more than {}", pinnedThreshold);
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        String site = site(frames);
+
+        Timer.builder("booking.virtual_threads.pinned")
+                .tag("site", site)
+                .register(meterRegistry)
+                .record(event.getDuration());
+
+        if (reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}:\n{}", event.getDuration().toMillis(), site, format(frames));
+        } else {
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    private String site(List<RecordedFrame> frames) {
+        return frames.stream()
+                .filter(RecordedFrame::isJavaFrame)
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+    }
+
+    private String format(List<RecordedFrame> frames) {
+        return frames.stream()
+                .limit(LOGGED_FRAMES)
+                .map(frame -> "\tat " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                        + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : ""))
+                .collect(Collectors.joining("\n"));
+    }
+}
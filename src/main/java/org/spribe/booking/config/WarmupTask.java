@@ -0,0 +1,10 @@
+package org.spribe.booking.config;
+
+/**
+ * Work that makes the application fast to serve but is not needed to start it, such as loading
+ * data or filling caches. {@link StartupWarmup} runs all tasks off the startup thread, in
+ * {@link org.springframework.core.annotation.Order} order, and reports readiness once they finish.
+ */
+public interface WarmupTask {
+    void warmUp();
+}
@@ -0,0 +1,13 @@
+package org.spribe.booking.config;
+
+/**
+ * Kind of work a thread is doing; each kind checks connections out of its own pool.
+ */
+public enum Workload {
+    /** HTTP requests; the default for any thread that did not declare otherwise. */
+    INTERACTIVE,
+    /** Scheduled jobs and other periodic maintenance. */
+    BACKGROUND,
+    /** Imports, archival and other long-running bulk statements. */
+    BULK
+}
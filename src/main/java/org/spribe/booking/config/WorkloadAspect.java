@@ -0,0 +1,47 @@
+package org.spribe.booking.config;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * Binds the {@link Workload} before any transaction advice runs, so the transaction checks its
+ * connection out of the matching pool.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class WorkloadAspect {
+
+    @Around("@annotation(org.spribe.booking.config.UseWorkload) " +
+            "|| @within(org.spribe.booking.config.UseWorkload) " +
+            "|| @annotation(org.springframework.scheduling.annotation.Scheduled)")
+    public Object bindWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload previous = WorkloadContext.bind(resolveWorkload(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private Workload resolveWorkload(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method method = AopUtils.getMostSpecificMethod(((MethodSignature) joinPoint.getSignature()).getMethod(), targetClass);
+
+        UseWorkload useWorkload = AnnotatedElementUtils.findMergedAnnotation(method, UseWorkload.class);
+        if (useWorkload == null) {
+            useWorkload = AnnotatedElementUtils.findMergedAnnotation(targetClass, UseWorkload.class);
+        }
+        // Only @Scheduled methods get here without the annotation
+        return useWorkload != null ? useWorkload.value() : Workload.BACKGROUND;
+    }
+}
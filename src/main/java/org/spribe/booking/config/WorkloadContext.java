@@ -0,0 +1,33 @@
+package org.spribe.booking.config;
+
+/**
+ * Holds the {@link Workload} of the current thread, used to pick the connection pool.
+ */
+public final class WorkloadContext {
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload current() {
+        Workload workload = CURRENT.get();
+        return workload != null ? workload : Workload.INTERACTIVE;
+    }
+
+    /**
+     * Binds the given workload and returns the previously bound one, to be passed to {@link #restore}.
+     */
+    public static Workload bind(Workload workload) {
+        Workload previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(Workload previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package org.spribe.booking.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands out connections from the pool of the current thread's {@link Workload}, so background
+ * and bulk work can never exhaust the pool serving HTTP requests.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    public WorkloadRoutingDataSource(Map<Workload, DataSource> pools) {
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(Workload.INTERACTIVE));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return WorkloadContext.current();
+    }
+}
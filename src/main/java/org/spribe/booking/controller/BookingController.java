@@ -8,6 +8,7 @@ import org.spribe.booking.dto.BookingRequest;
 import org.spribe.booking.dto.BookingResponse;
 import org.spribe.booking.dto.PageResponse;
 import org.spribe.booking.service.BookingService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -30,8 +31,11 @@ public class BookingController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get booking by ID", description = "Retrieves a specific booking by its ID")
-    public ResponseEntity<BookingResponse> getBooking(@PathVariable UUID id) {
-        return ResponseEntity.ok(bookingService.getBooking(id));
+    public ResponseEntity<BookingResponse> getBooking(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ETags.conditionalGet(ifNoneMatch, id, () -> bookingService.findBookingUpdatedAt(id),
+                () -> bookingService.getBooking(id), BookingResponse::getUpdatedAt);
     }
 
     @PostMapping("/{id}/confirm")
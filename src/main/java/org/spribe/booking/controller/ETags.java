@@ -0,0 +1,63 @@
+package org.spribe.booking.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Strong entity tags derived from an entity's id and {@code updatedAt}, and the conditional GET
+ * built on them. When the request carries {@code If-None-Match}, only the {@code updatedAt} of
+ * the entity is looked up; a matching tag is answered with 304 without loading or serialising
+ * the entity.
+ */
+final class ETags {
+    private ETags() {
+    }
+
+    static <T> ResponseEntity<T> conditionalGet(String ifNoneMatch, UUID id,
+                                                Supplier<Optional<LocalDateTime>> currentUpdatedAt,
+                                                Supplier<T> body, Function<T, LocalDateTime> updatedAtOf) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = currentUpdatedAt.get().map(updatedAt -> of(id, updatedAt));
+            if (current.isPresent() && matches(ifNoneMatch, current.get())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(current.get()).build();
+            }
+        }
+
+        T response = body.get();
+        LocalDateTime updatedAt = updatedAtOf.apply(response);
+        if (updatedAt == null) {
+            return ResponseEntity.ok(response);
+        }
+        return ResponseEntity.ok().eTag(of(id, updatedAt)).body(response);
+    }
+
+    static String of(UUID id, LocalDateTime updatedAt) {
+        // Postgres keeps microseconds, so that is all the precision a stored updatedAt has
+        long micros = updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        return "\"" + id + "-" + Long.toHexString(micros) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so a W/ prefix on the client's tag is ignored
+    static boolean matches(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
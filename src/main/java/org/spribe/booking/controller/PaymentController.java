@@ -8,6 +8,7 @@ import org.spribe.booking.dto.PaymentRequest;
 import org.spribe.booking.dto.PaymentResponse;
 import org.spribe.booking.model.enumeration.PaymentStatus;
 import org.spribe.booking.service.PaymentService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -31,8 +32,11 @@ public class PaymentController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get payment by ID", description = "Retrieves a payment by its ID")
-    public ResponseEntity<PaymentResponse> getPayment(@PathVariable UUID id) {
-        return ResponseEntity.ok(paymentService.getPayment(id));
+    public ResponseEntity<PaymentResponse> getPayment(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ETags.conditionalGet(ifNoneMatch, id, () -> paymentService.findPaymentUpdatedAt(id),
+                () -> paymentService.getPayment(id), PaymentResponse::getUpdatedAt);
     }
 
     @GetMapping("/booking/{bookingId}")
@@ -4,14 +4,18 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.spribe.booking.dto.UnitImportFormat;
+import org.spribe.booking.dto.UnitImportResponse;
 import org.spribe.booking.dto.UnitRequest;
 import org.spribe.booking.dto.UnitResponse;
 import org.spribe.booking.dto.UnitSearchRequest;
 import org.spribe.booking.dto.PageResponse;
 import org.spribe.booking.service.UnitService;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.UUID;
 
 @RestController
@@ -29,10 +33,23 @@ public class UnitController {
         return ResponseEntity.ok(unitService.createUnit(request, userId));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import units", description = "Bulk-loads units from a CSV file with a header row or from " +
+            "newline-delimited JSON; the whole import is rejected if any row is invalid")
+    public ResponseEntity<UnitImportResponse> importUnits(
+            InputStream body,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader("X-User-Id") UUID userId) {
+        return ResponseEntity.ok(unitService.importUnits(body, UnitImportFormat.fromContentType(contentType), userId));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get unit by ID", description = "Retrieves a specific unit by its ID")
-    public ResponseEntity<UnitResponse> getUnit(@PathVariable UUID id) {
-        return ResponseEntity.ok(unitService.getUnit(id));
+    public ResponseEntity<UnitResponse> getUnit(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return ETags.conditionalGet(ifNoneMatch, id, () -> unitService.findUnitUpdatedAt(id),
+                () -> unitService.getUnit(id), UnitResponse::getUpdatedAt);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,30 @@
+package org.spribe.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.service.ReactiveUnitSearchService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+/**
+ * Functional endpoint for the reactive unit search, served next to {@link UnitController}. The
+ * handler returns as soon as the search is started and the response is written when the
+ * {@code Mono} completes, so the request thread goes back to Tomcat while Postgres and Redis work.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class UnitSearchRouter {
+    private final ReactiveUnitSearchService reactiveUnitSearchService;
+
+    @Bean
+    public RouterFunction<ServerResponse> unitSearchRoutes() {
+        return RouterFunctions.route()
+                .POST("/api/v1/units/reactive-search", request -> ServerResponse.async(
+                        reactiveUnitSearchService.searchUnits(request.body(UnitSearchRequest.class))
+                                .map(page -> ServerResponse.ok().body(page))))
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package org.spribe.booking.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.spribe.booking.model.enumeration.BookingStatus;
 
 import java.math.BigDecimal;
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingResponse {
     @JsonProperty("id")
     private UUID id;
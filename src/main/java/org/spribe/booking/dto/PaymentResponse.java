@@ -1,6 +1,8 @@
 package org.spribe.booking.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.spribe.booking.model.enumeration.PaymentMethod;
 import org.spribe.booking.model.enumeration.PaymentStatus;
 
@@ -9,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class PaymentResponse {
     private UUID id;
     private UUID bookingId;
@@ -0,0 +1,28 @@
+package org.spribe.booking.dto;
+
+import org.springframework.http.MediaType;
+
+public enum UnitImportFormat {
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    UnitImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static UnitImportFormat fromContentType(String contentType) {
+        MediaType requested = MediaType.parseMediaType(contentType);
+        for (UnitImportFormat format : values()) {
+            if (MediaType.parseMediaType(format.mediaType).includes(requested)) {
+                return format;
+            }
+        }
+        throw new RuntimeException("Unsupported import format: " + contentType);
+    }
+}
@@ -0,0 +1,15 @@
+package org.spribe.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnitImportResponse {
+    private UUID importId;
+    private long importedUnits;
+}
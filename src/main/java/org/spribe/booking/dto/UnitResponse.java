@@ -1,8 +1,9 @@
 package org.spribe.booking.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
-import lombok.Builder;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.spribe.booking.model.enumeration.AccommodationType;
 
 import java.math.BigDecimal;
@@ -10,6 +11,8 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class UnitResponse {
     @JsonProperty("id")
     private UUID id;
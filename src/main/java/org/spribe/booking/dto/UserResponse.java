@@ -1,13 +1,17 @@
 package org.spribe.booking.dto;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.spribe.booking.model.enumeration.UserRole;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class UserResponse {
     @JsonProperty("id")
     private UUID id;
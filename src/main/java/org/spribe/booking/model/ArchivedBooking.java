@@ -0,0 +1,61 @@
+package org.spribe.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.spribe.booking.model.enumeration.BookingStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A booking in a terminal state moved out of the hot {@code bookings} table by the archival job.
+ */
+@Data
+@Entity
+@Immutable
+@Table(name = "bookings_archive")
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedBooking {
+    @Id
+    private UUID id;
+
+    @Column(name = "unit_id", nullable = false)
+    private UUID unitId;
+
+    @Column(name = "user_id", nullable = false)
+    private UUID userId;
+
+    @Column(name = "check_in_date", nullable = false)
+    private LocalDateTime checkInDate;
+
+    @Column(name = "check_out_date", nullable = false)
+    private LocalDateTime checkOutDate;
+
+    @Column(nullable = false)
+    private BigDecimal totalPrice;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BookingStatus status;
+
+    @Column(name = "payment_deadline", nullable = false)
+    private LocalDateTime paymentDeadline;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -0,0 +1,57 @@
+package org.spribe.booking.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.spribe.booking.model.enumeration.PaymentMethod;
+import org.spribe.booking.model.enumeration.PaymentStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A payment of an {@link ArchivedBooking}, moved together with its booking.
+ */
+@Data
+@Entity
+@Immutable
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payments_archive")
+public class ArchivedPayment {
+    @Id
+    private UUID id;
+
+    @Column(name = "booking_id", nullable = false)
+    private UUID bookingId;
+
+    @Column(nullable = false)
+    private BigDecimal amount;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PaymentStatus status;
+
+    @Column(name = "payment_method", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private PaymentMethod paymentMethod;
+
+    @Column(name = "transaction_id")
+    private String transactionId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @JsonIgnore
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
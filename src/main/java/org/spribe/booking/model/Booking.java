@@ -8,6 +8,7 @@ import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.model.generator.UuidV7;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -21,7 +22,7 @@ import java.math.BigDecimal;
 @Builder
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidV7
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -54,6 +55,10 @@ public class Booking {
     @Column(name = "payment_deadline")
     private LocalDateTime paymentDeadline;
 
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
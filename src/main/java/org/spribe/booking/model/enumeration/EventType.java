@@ -9,6 +9,7 @@ public enum EventType {
     UNIT_CREATED,
     UNIT_UPDATED,
     UNIT_DELETED,
+    UNIT_IMPORTED,
     BOOKING_CREATED,
     BOOKING_CONFIRMED,
     BOOKING_CANCELLED,
@@ -0,0 +1,19 @@
+package org.spribe.booking.model.generator;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks an identifier to be populated with a time-ordered UUIDv7 generated in the application.
+ */
+@IdGeneratorType(UuidV7Generator.class)
+@Retention(RUNTIME)
+@Target({FIELD, METHOD})
+public @interface UuidV7 {
+}
@@ -0,0 +1,28 @@
+package org.spribe.booking.repository;
+
+import org.spribe.booking.model.ArchivedBooking;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, UUID> {
+    @Modifying
+    @Query(value = "INSERT INTO bookings_archive (id, unit_id, user_id, check_in_date, check_out_date, " +
+                   "total_price, status, payment_deadline, created_at, updated_at, archived_at) " +
+                   "SELECT id, unit_id, user_id, check_in_date, check_out_date, " +
+                   "total_price, status, payment_deadline, created_at, updated_at, now() " +
+                   "FROM bookings WHERE id IN (:bookingIds)",
+           nativeQuery = true)
+    int copyFromBookings(@Param("bookingIds") List<UUID> bookingIds);
+
+    @Query("SELECT b.updatedAt FROM ArchivedBooking b WHERE b.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+}
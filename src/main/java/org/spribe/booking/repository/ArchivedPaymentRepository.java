@@ -0,0 +1,30 @@
+package org.spribe.booking.repository;
+
+import org.spribe.booking.model.ArchivedPayment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ArchivedPaymentRepository extends JpaRepository<ArchivedPayment, UUID> {
+    List<ArchivedPayment> findByBookingId(UUID bookingId);
+
+    @Modifying
+    @Query(value = "WITH moved AS (DELETE FROM payments WHERE booking_id IN (:bookingIds) RETURNING *) " +
+                   "INSERT INTO payments_archive (id, booking_id, amount, status, payment_method, " +
+                   "transaction_id, created_at, updated_at, archived_at) " +
+                   "SELECT id, booking_id, amount, status, payment_method, " +
+                   "transaction_id, created_at, updated_at, now() FROM moved",
+           nativeQuery = true)
+    int moveFromPayments(@Param("bookingIds") List<UUID> bookingIds);
+
+    @Query("SELECT p.updatedAt FROM ArchivedPayment p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+}
@@ -1,9 +1,11 @@
 package org.spribe.booking.repository;
 
+import org.spribe.booking.dto.BookingResponse;
 import org.spribe.booking.model.Booking;
 import org.spribe.booking.model.enumeration.BookingStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -11,6 +13,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
@@ -26,17 +29,37 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
             @Param("checkOutDate") LocalDateTime checkOutDate
     );
 
+    // The jobs release the unit of every booking they process
+    @EntityGraph(attributePaths = "unit")
     @Query("SELECT b FROM Booking b WHERE b.status = :status AND b.checkOutDate <= :now")
     List<Booking> findCompletedBookings(
             @Param("status") BookingStatus status,
             @Param("now") LocalDateTime now
     );
 
+    @EntityGraph(attributePaths = "unit")
     @Query("SELECT b FROM Booking b WHERE b.status = :status AND b.paymentDeadline < :now")
     List<Booking> findExpiredBookings(
             @Param("status") BookingStatus status,
             @Param("now") LocalDateTime now
     );
 
-    Page<Booking> findByUserId(UUID userId, Pageable pageable);
-} 
\ No newline at end of file
+    @Query(value = "SELECT new org.spribe.booking.dto.BookingResponse(b.id, b.unit.id, b.userId, b.checkInDate, " +
+                   "b.checkOutDate, b.totalPrice, b.status, b.paymentDeadline, b.createdAt, b.updatedAt) " +
+                   "FROM Booking b WHERE b.userId = :userId",
+           countQuery = "SELECT COUNT(b) FROM Booking b WHERE b.userId = :userId")
+    Page<BookingResponse> findByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+    @Query(value = "SELECT id FROM bookings WHERE status IN ('COMPLETED', 'CANCELLED') " +
+                   "AND updated_at < :horizon ORDER BY updated_at LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<UUID> findArchivableBookingIds(
+            @Param("horizon") LocalDateTime horizon,
+            @Param("limit") int limit
+    );
+
+    @Query("SELECT b.updatedAt FROM Booking b WHERE b.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+
+    long countByStatus(BookingStatus status);
+}
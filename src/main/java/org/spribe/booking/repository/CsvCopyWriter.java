@@ -0,0 +1,101 @@
+package org.spribe.booking.repository;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Feeds rows to a {@code COPY ... FROM STDIN WITH (FORMAT csv)} statement, flushing them to
+ * the server in chunks so the input never has to fit in memory.
+ */
+public final class CsvCopyWriter {
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+
+    private final CopyIn copyIn;
+    private final StringBuilder chunk = new StringBuilder(FLUSH_THRESHOLD + 1024);
+    private boolean rowStart = true;
+
+    private CsvCopyWriter(CopyIn copyIn) {
+        this.copyIn = copyIn;
+    }
+
+    /**
+     * Runs {@code copySql} on the given connection with the rows written by {@code rows} and
+     * returns the number of rows copied. An exception thrown by {@code rows} aborts the copy.
+     */
+    public static long copy(Connection connection, String copySql, Rows rows) throws SQLException {
+        CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+        try {
+            CsvCopyWriter writer = new CsvCopyWriter(copyIn);
+            rows.write(writer);
+            writer.flush();
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    /** Appends an unquoted column; {@code null} is written as SQL NULL. */
+    public CsvCopyWriter value(Object value) {
+        separate();
+        if (value instanceof BigDecimal decimal) {
+            chunk.append(decimal.toPlainString());
+        } else if (value != null) {
+            chunk.append(value);
+        }
+        return this;
+    }
+
+    /** Appends a quoted text column; {@code null} is written as SQL NULL. */
+    public CsvCopyWriter text(String value) {
+        separate();
+        if (value == null) {
+            return this;
+        }
+        chunk.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                chunk.append('"');
+            }
+            chunk.append(c);
+        }
+        chunk.append('"');
+        return this;
+    }
+
+    public void endRow() throws SQLException {
+        chunk.append('\n');
+        rowStart = true;
+        if (chunk.length() >= FLUSH_THRESHOLD) {
+            flush();
+        }
+    }
+
+    private void separate() {
+        if (!rowStart) {
+            chunk.append(',');
+        }
+        rowStart = false;
+    }
+
+    private void flush() throws SQLException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+
+    @FunctionalInterface
+    public interface Rows {
+        void write(CsvCopyWriter writer) throws SQLException;
+    }
+}
@@ -1,22 +1,36 @@
 package org.spribe.booking.repository;
 
+import org.spribe.booking.dto.PaymentResponse;
 import org.spribe.booking.model.Payment;
 import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PaymentRepository extends JpaRepository<Payment, UUID> {
-    List<Payment> findByBookingId(UUID bookingId);
+    @Query("SELECT new org.spribe.booking.dto.PaymentResponse(p.id, p.booking.id, p.amount, p.status, " +
+           "p.paymentMethod, p.transactionId, p.createdAt, p.updatedAt) " +
+           "FROM Payment p WHERE p.booking.id = :bookingId")
+    List<PaymentResponse> findByBookingId(@Param("bookingId") UUID bookingId);
     
+    @EntityGraph(attributePaths = "booking")
+    @Query("SELECT p FROM Payment p WHERE p.id = :id")
+    Optional<Payment> findWithBookingById(@Param("id") UUID id);
+
     @Query("SELECT p FROM Payment p WHERE p.booking.id = :bookingId AND p.status = :status")
     List<Payment> findByBookingIdAndStatus(
             @Param("bookingId") UUID bookingId,
             @Param("status") PaymentStatus status
     );
-} 
\ No newline at end of file
+
+    @Query("SELECT p.updatedAt FROM Payment p WHERE p.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+}
@@ -0,0 +1,104 @@
+package org.spribe.booking.repository;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.spribe.booking.dto.UnitResponse;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs the unit search of {@link UnitRepository#searchUnits} over R2DBC. Only the criteria
+ * present in the request end up in the statement, so each combination gets its own plan
+ * instead of one plan full of {@code IS NULL} branches. Like the JPQL query, the price bounds
+ * apply to the stored nightly price; the caller derives them from the request's price range.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUnitSearchRepository {
+    private static final String COLUMNS = "u.id, u.number_of_rooms, u.type, u.floor, u.base_price, u.total_price, " +
+            "u.description, u.available, u.created_at, u.updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    public Flux<UnitResponse> search(UnitSearchRequest request, BigDecimal minPrice, BigDecimal maxPrice, long offset, int limit) {
+        Filter filter = filter(request, minPrice, maxPrice);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT " + COLUMNS + " FROM units u WHERE " + filter.where() +
+                        " ORDER BY u.created_at DESC, u.id DESC LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset);
+        return bind(spec, filter).map(this::toResponse).all();
+    }
+
+    public Mono<Long> count(UnitSearchRequest request, BigDecimal minPrice, BigDecimal maxPrice) {
+        Filter filter = filter(request, minPrice, maxPrice);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("SELECT count(*) FROM units u WHERE " + filter.where());
+        return bind(spec, filter).map(row -> row.get(0, Long.class)).one();
+    }
+
+    private Filter filter(UnitSearchRequest request, BigDecimal minPrice, BigDecimal maxPrice) {
+        StringBuilder where = new StringBuilder("u.available = true");
+        Map<String, Object> binds = new LinkedHashMap<>();
+        if (request.getNumberOfRooms() != null) {
+            where.append(" AND u.number_of_rooms = :numberOfRooms");
+            binds.put("numberOfRooms", request.getNumberOfRooms());
+        }
+        if (request.getType() != null) {
+            where.append(" AND u.type = :type");
+            binds.put("type", request.getType().name());
+        }
+        if (request.getFloor() != null) {
+            where.append(" AND u.floor = :floor");
+            binds.put("floor", request.getFloor());
+        }
+        if (minPrice != null) {
+            where.append(" AND u.total_price >= :minPrice");
+            binds.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            where.append(" AND u.total_price <= :maxPrice");
+            binds.put("maxPrice", maxPrice);
+        }
+        // Like the JPQL query, the overlap check only applies when both dates are given
+        if (request.getCheckInDate() != null && request.getCheckOutDate() != null) {
+            where.append(" AND NOT EXISTS (SELECT 1 FROM bookings b WHERE b.unit_id = u.id" +
+                    " AND b.check_in_date <= :checkOutDate AND b.check_out_date >= :checkInDate" +
+                    " AND b.status IN ('CONFIRMED', 'PENDING_PAYMENT'))");
+            binds.put("checkInDate", request.getCheckInDate());
+            binds.put("checkOutDate", request.getCheckOutDate());
+        }
+        return new Filter(where.toString(), binds);
+    }
+
+    private DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Filter filter) {
+        for (Map.Entry<String, Object> bind : filter.binds().entrySet()) {
+            spec = spec.bind(bind.getKey(), bind.getValue());
+        }
+        return spec;
+    }
+
+    private UnitResponse toResponse(Readable row) {
+        return new UnitResponse(
+                row.get("id", UUID.class),
+                row.get("number_of_rooms", Integer.class),
+                AccommodationType.valueOf(row.get("type", String.class)),
+                row.get("floor", Integer.class),
+                row.get("base_price", BigDecimal.class),
+                row.get("total_price", BigDecimal.class),
+                row.get("description", String.class),
+                Boolean.TRUE.equals(row.get("available", Boolean.class)),
+                row.get("created_at", LocalDateTime.class),
+                row.get("updated_at", LocalDateTime.class));
+    }
+
+    private record Filter(String where, Map<String, Object> binds) {}
+}
@@ -0,0 +1,45 @@
+package org.spribe.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.spribe.booking.model.Unit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+
+/**
+ * Loads units with {@code COPY ... FROM STDIN} on the connection of the current transaction.
+ * Rows are pulled from the iterator as they are sent, so the whole input is never held in
+ * memory; an exception thrown by the iterator aborts the copy.
+ */
+@Repository
+@RequiredArgsConstructor
+public class UnitCopyRepository {
+    private static final String COPY_UNITS = "COPY units (id, number_of_rooms, type, floor, base_price, total_price, " +
+            "description, available, created_at, updated_at) FROM STDIN WITH (FORMAT csv)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public long copy(Iterator<Unit> units) {
+        LocalDateTime now = LocalDateTime.now();
+        return jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                CsvCopyWriter.copy(connection, COPY_UNITS, writer -> {
+                    while (units.hasNext()) {
+                        Unit unit = units.next();
+                        writer.value(unit.getId())
+                                .value(unit.getNumberOfRooms())
+                                .value(unit.getType())
+                                .value(unit.getFloor())
+                                .value(unit.getBasePrice())
+                                .value(unit.getTotalPrice())
+                                .text(unit.getDescription())
+                                .value(unit.isAvailable())
+                                .value(now)
+                                .value(now)
+                                .endRow();
+                    }
+                }));
+    }
+}
@@ -1,5 +1,6 @@
 package org.spribe.booking.repository;
 
+import org.spribe.booking.dto.UnitResponse;
 import org.spribe.booking.model.Unit;
 import org.spribe.booking.model.enumeration.AccommodationType;
 import org.springframework.data.domain.Page;
@@ -10,11 +11,12 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UnitRepository extends JpaRepository<Unit, UUID> {
-    @Query("SELECT u FROM Unit u WHERE " +
+    String SEARCH_CONDITIONS = "FROM Unit u WHERE " +
            "(:numberOfRooms IS NULL OR u.numberOfRooms = :numberOfRooms) AND " +
            "(:type IS NULL OR u.type = :type) AND " +
            "(:floor IS NULL OR u.floor = :floor) AND " +
@@ -23,8 +25,12 @@ public interface UnitRepository extends JpaRepository<Unit, UUID> {
            "u.available = true AND " +
            "NOT EXISTS (SELECT b FROM Booking b WHERE b.unit = u AND " +
            "((b.checkInDate <= :checkOutDate AND b.checkOutDate >= :checkInDate) AND " +
-           "b.status IN ('CONFIRMED', 'PENDING_PAYMENT')))")
-    Page<Unit> searchUnits(
+           "b.status IN ('CONFIRMED', 'PENDING_PAYMENT')))";
+
+    @Query(value = "SELECT new org.spribe.booking.dto.UnitResponse(u.id, u.numberOfRooms, u.type, u.floor, " +
+                   "u.basePrice, u.totalPrice, u.description, u.available, u.createdAt, u.updatedAt) " + SEARCH_CONDITIONS,
+           countQuery = "SELECT COUNT(u) " + SEARCH_CONDITIONS)
+    Page<UnitResponse> searchUnits(
             @Param("numberOfRooms") Integer numberOfRooms,
             @Param("type") AccommodationType type,
             @Param("floor") Integer floor,
@@ -36,4 +42,7 @@ public interface UnitRepository extends JpaRepository<Unit, UUID> {
 
     @Query("SELECT COUNT(u) FROM Unit u WHERE u.available = true")
     Long countAvailableUnits();
-} 
\ No newline at end of file
+
+    @Query("SELECT u.updatedAt FROM Unit u WHERE u.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+}
@@ -1,7 +1,11 @@
 package org.spribe.booking.repository;
 
+import org.spribe.booking.dto.UserResponse;
 import org.spribe.booking.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +16,9 @@ public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     
     boolean existsByEmail(String email);
+
+    @Query(value = "SELECT new org.spribe.booking.dto.UserResponse(u.id, u.email, u.firstName, u.lastName, " +
+                   "u.role, u.createdAt, u.updatedAt) FROM User u",
+           countQuery = "SELECT COUNT(u) FROM User u")
+    Page<UserResponse> findAllResponses(Pageable pageable);
 } 
\ No newline at end of file
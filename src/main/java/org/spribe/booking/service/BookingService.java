@@ -4,14 +4,18 @@ import org.spribe.booking.dto.BookingRequest;
 import org.spribe.booking.dto.BookingResponse;
 import org.spribe.booking.dto.PageResponse;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BookingService {
     BookingResponse createBooking(BookingRequest request, UUID userId);
     BookingResponse getBooking(UUID bookingId);
+    Optional<LocalDateTime> findBookingUpdatedAt(UUID bookingId);
     BookingResponse confirmBooking(UUID bookingId, UUID userId);
     BookingResponse cancelBooking(UUID bookingId, UUID userId);
     PageResponse<BookingResponse> getUserBookings(UUID userId, int page, int size);
     void processExpiredBookings();
+    void refreshPendingHolds();
     void processCompletedBookings();
 } 
\ No newline at end of file
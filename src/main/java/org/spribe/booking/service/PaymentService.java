@@ -4,7 +4,9 @@ import org.spribe.booking.dto.PaymentRequest;
 import org.spribe.booking.dto.PaymentResponse;
 import org.spribe.booking.model.enumeration.PaymentStatus;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface PaymentService {
@@ -12,6 +14,8 @@ public interface PaymentService {
     
     PaymentResponse getPayment(UUID paymentId);
     
+    Optional<LocalDateTime> findPaymentUpdatedAt(UUID paymentId);
+    
     List<PaymentResponse> getPaymentsByBooking(UUID bookingId);
     
     PaymentResponse updatePaymentStatus(UUID paymentId, UUID userId, PaymentStatus status);
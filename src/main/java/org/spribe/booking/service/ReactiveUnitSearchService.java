@@ -0,0 +1,10 @@
+package org.spribe.booking.service;
+
+import org.spribe.booking.dto.PageResponse;
+import org.spribe.booking.dto.UnitResponse;
+import org.spribe.booking.dto.UnitSearchRequest;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveUnitSearchService {
+    Mono<PageResponse<UnitResponse>> searchUnits(UnitSearchRequest request);
+}
@@ -0,0 +1,32 @@
+package org.spribe.booking.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional service method when a concurrent update wins the optimistic lock.
+ * <p>
+ * The retry advice is ordered outside the transaction advice (see {@code RetryConfig}), so every
+ * attempt starts a fresh transaction and re-reads the current state. Backoff is exponential
+ * with random jitter and capped by {@code booking.retry.*}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = OptimisticLockingFailureException.class,
+        maxAttemptsExpression = "${booking.retry.max-attempts:4}",
+        backoff = @Backoff(
+                delayExpression = "${booking.retry.initial-delay-ms:20}",
+                multiplierExpression = "${booking.retry.multiplier:2}",
+                maxDelayExpression = "${booking.retry.max-delay-ms:500}",
+                random = true))
+public @interface RetryOnConflict {
+}
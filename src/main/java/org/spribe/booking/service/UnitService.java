@@ -1,17 +1,24 @@
 package org.spribe.booking.service;
 
+import org.spribe.booking.dto.UnitImportFormat;
+import org.spribe.booking.dto.UnitImportResponse;
 import org.spribe.booking.dto.UnitRequest;
 import org.spribe.booking.dto.UnitResponse;
 import org.spribe.booking.dto.UnitSearchRequest;
 import org.spribe.booking.dto.PageResponse;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface UnitService {
     UnitResponse createUnit(UnitRequest request, UUID userId);
     UnitResponse getUnit(UUID id);
+    Optional<LocalDateTime> findUnitUpdatedAt(UUID id);
     UnitResponse updateUnit(UUID id, UnitRequest request, UUID userId);
     void deleteUnit(UUID id, UUID userId);
     PageResponse<UnitResponse> searchUnits(UnitSearchRequest request);
     long getAvailableUnitsCount();
+    UnitImportResponse importUnits(InputStream input, UnitImportFormat format, UUID userId);
 } 
\ No newline at end of file
@@ -0,0 +1,83 @@
+package org.spribe.booking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.UseWorkload;
+import org.spribe.booking.config.Workload;
+import org.spribe.booking.repository.ArchivedBookingRepository;
+import org.spribe.booking.repository.ArchivedPaymentRepository;
+import org.spribe.booking.repository.BookingRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Moves completed and cancelled bookings, together with their payments, into
+ * {@code bookings_archive}/{@code payments_archive} so the hot tables only hold live data.
+ * Each batch is its own transaction and skips rows locked by concurrent work.
+ */
+@Slf4j
+@Service
+@UseWorkload(Workload.BULK)
+@RequiredArgsConstructor
+public class BookingArchivalService {
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.archival.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.archival.horizon-days:30}")
+    private int horizonDays;
+
+    @Value("${booking.archival.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.archival.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(cron = "${booking.archival.cron:0 15 * * * *}")
+    public void archiveBookings() {
+        if (!enabled) {
+            return;
+        }
+
+        LocalDateTime horizon = LocalDateTime.now().minusDays(horizonDays);
+        log.info("Archiving terminal bookings last updated before {}", horizon);
+
+        int archived = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int moved = archiveBatch(horizon);
+            archived += moved;
+            if (moved < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Archived {} bookings", archived);
+    }
+
+    public int archiveBatch(LocalDateTime horizon) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<UUID> bookingIds = bookingRepository.findArchivableBookingIds(horizon, batchSize);
+            if (bookingIds.isEmpty()) {
+                return 0;
+            }
+
+            archivedBookingRepository.copyFromBookings(bookingIds);
+            int payments = archivedPaymentRepository.moveFromPayments(bookingIds);
+            bookingRepository.deleteAllByIdInBatch(bookingIds);
+
+            log.debug("Archived batch of {} bookings and {} payments", bookingIds.size(), payments);
+            return bookingIds.size();
+        });
+        return moved != null ? moved : 0;
+    }
+}
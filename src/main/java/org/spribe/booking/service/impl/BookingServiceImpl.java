@@ -3,6 +3,7 @@ package org.spribe.booking.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.BookingMetrics;
 import org.spribe.booking.dto.BookingRequest;
 import org.spribe.booking.dto.BookingResponse;
 import org.spribe.booking.dto.PageResponse;
@@ -11,10 +12,12 @@ import org.spribe.booking.model.enumeration.BookingStatus;
 import org.spribe.booking.model.Event;
 import org.spribe.booking.model.enumeration.EventType;
 import org.spribe.booking.model.Unit;
+import org.spribe.booking.repository.ArchivedBookingRepository;
 import org.spribe.booking.repository.BookingRepository;
 import org.spribe.booking.repository.EventRepository;
 import org.spribe.booking.repository.UnitRepository;
 import org.spribe.booking.service.BookingService;
+import org.spribe.booking.service.RetryOnConflict;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -23,29 +26,33 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
+import static org.spribe.booking.config.SamplingTurboFilter.SAMPLED;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final UnitRepository unitRepository;
     private final EventRepository eventRepository;
     private final ObjectMapper objectMapper;
+    private final BookingMetrics bookingMetrics;
+    private final PriceCalculator priceCalculator;
+    private final RateCalendar rateCalendar;
 
     @Value("${booking.payment-timeout:15}")
     private int paymentTimeout;
 
-    @Value("${booking.system-markup:15}")
-    private int systemMarkup;
-
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingResponse createBooking(BookingRequest request, UUID userId) {
         log.info("Creating booking for unit {} by user {}", request.getUnitId(), userId);
         
@@ -53,6 +60,7 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new RuntimeException("Unit not found"));
 
         if (!unit.isAvailable()) {
+            bookingMetrics.bookingRejected("unavailable");
             throw new RuntimeException("Unit is not available");
         }
 
@@ -74,12 +82,12 @@ public class BookingServiceImpl implements BookingService {
         );
 
         if (!overlappingBookings.isEmpty()) {
+            bookingMetrics.bookingRejected("overlap");
             throw new RuntimeException("Unit is already booked for the selected dates");
         }
 
-        BigDecimal totalPrice = unit.getBasePrice()
-                .multiply(BigDecimal.valueOf(1 + systemMarkup / 100.0))
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal totalPrice = priceCalculator.stayPrice(unit.getBasePrice(),
+                rateCalendar.stayRate(request.getCheckInDate(), request.getCheckOutDate()));
 
         LocalDateTime paymentDeadline = LocalDateTime.now().plusMinutes(paymentTimeout);
 
@@ -110,6 +118,7 @@ public class BookingServiceImpl implements BookingService {
                 .description("Booking created with total price " + totalPrice + " and payment deadline " + paymentDeadline)
                 .build();
         eventRepository.save(event);
+        bookingMetrics.bookingCommitted("created");
 
         return objectMapper.convertValue(booking, BookingResponse.class);
     }
@@ -117,16 +126,26 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public BookingResponse getBooking(UUID id) {
-        log.info("Getting booking: {}", id);
+        log.info(SAMPLED, "Getting booking: {}", id);
         
-        Booking booking = bookingRepository.findById(id)
+        // Completed and cancelled bookings move to the archive after booking.archival.horizon-days
+        return bookingRepository.findById(id)
+                .map(booking -> objectMapper.convertValue(booking, BookingResponse.class))
+                .or(() -> archivedBookingRepository.findById(id)
+                        .map(archived -> objectMapper.convertValue(archived, BookingResponse.class)))
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
-        
-        return objectMapper.convertValue(booking, BookingResponse.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findBookingUpdatedAt(UUID id) {
+        return bookingRepository.findUpdatedAtById(id)
+                .or(() -> archivedBookingRepository.findUpdatedAtById(id));
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingResponse confirmBooking(UUID id, UUID userId) {
         log.info("Confirming booking: {}", id);
         
@@ -154,12 +173,14 @@ public class BookingServiceImpl implements BookingService {
                 .description("Booking confirmed")
                 .build();
         eventRepository.save(event);
+        bookingMetrics.bookingCommitted("confirmed");
         
         return objectMapper.convertValue(booking, BookingResponse.class);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public BookingResponse cancelBooking(UUID id, UUID userId) {
         log.info("Cancelling booking: {}", id);
         
@@ -190,6 +211,7 @@ public class BookingServiceImpl implements BookingService {
                 .description("Booking cancelled")
                 .build();
         eventRepository.save(event);
+        bookingMetrics.bookingCommitted("cancelled");
         
         return objectMapper.convertValue(booking, BookingResponse.class);
     }
@@ -197,16 +219,12 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<BookingResponse> getUserBookings(UUID userId, int page, int size) {
-        log.info("Getting bookings for user: {}, page: {}, size: {}", userId, page, size);
-        
-        Page<Booking> bookings = bookingRepository.findByUserId(userId, PageRequest.of(page, size));
+        log.info(SAMPLED, "Getting bookings for user: {}, page: {}, size: {}", userId, page, size);
         
-        List<BookingResponse> bookingResponses = bookings.getContent().stream()
-                .map(booking -> objectMapper.convertValue(booking, BookingResponse.class))
-                .toList();
+        Page<BookingResponse> bookings = bookingRepository.findByUserId(userId, PageRequest.of(page, size));
         
         return new PageResponse<>(
-                bookingResponses,
+                bookings.getContent(),
                 bookings.getNumber(),
                 bookings.getSize(),
                 bookings.getTotalElements(),
@@ -217,6 +235,7 @@ public class BookingServiceImpl implements BookingService {
 
     @Override
     @Transactional
+    @RetryOnConflict
     @Scheduled(fixedRate = 60000) // Run every minute
     public void processExpiredBookings() {
         log.info("Processing expired bookings");
@@ -243,11 +262,21 @@ public class BookingServiceImpl implements BookingService {
                     .description("Booking expired and cancelled")
                     .build();
             eventRepository.save(event);
+            bookingMetrics.bookingCommitted("expired");
         }
     }
 
+    // A run of its own, so the expiry job stays at one select
+    @Override
+    @Transactional(readOnly = true)
+    @Scheduled(fixedRate = 60000) // Run every minute
+    public void refreshPendingHolds() {
+        bookingMetrics.pendingHolds(bookingRepository.countByStatus(BookingStatus.PENDING_PAYMENT));
+    }
+
     @Override
     @Transactional
+    @RetryOnConflict
     @Scheduled(fixedRate = 60000) // Run every minute
     public void processCompletedBookings() {
         log.info("Processing completed bookings");
@@ -275,6 +304,7 @@ public class BookingServiceImpl implements BookingService {
                     .build();
             
             eventRepository.save(event);
+            bookingMetrics.bookingCommitted("completed");
         }
     }
 } 
\ No newline at end of file
@@ -1,9 +1,12 @@
 package org.spribe.booking.service.impl;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.UseWorkload;
+import org.spribe.booking.config.WarmupTask;
+import org.spribe.booking.config.Workload;
 import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
 import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -12,14 +15,16 @@ import org.spribe.booking.repository.UnitRepository;
 
 @Slf4j
 @Service
+@UseWorkload(Workload.BACKGROUND)
+@Order(2)
 @RequiredArgsConstructor
-public class CacheRecoveryService {
+public class CacheRecoveryService implements WarmupTask {
     private final CacheManager cacheManager;
     private final UnitRepository unitRepository;
     private final RedisConnectionFactory redisConnectionFactory;
 
-    @PostConstruct
-    public void initializeCacheOnStartup() {
+    @Override
+    public void warmUp() {
         recoverCache();
     }
 
@@ -0,0 +1,108 @@
+package org.spribe.booking.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.UseWorkload;
+import org.spribe.booking.config.Workload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * Keeps the monthly partitions of {@code events} rolling: creates partitions ahead of time and
+ * detaches (optionally drops) the ones that fell out of the retention window.
+ * <p>
+ * Runs outside of a transaction on purpose: {@code DETACH PARTITION ... CONCURRENTLY} cannot be
+ * executed inside a transaction block.
+ */
+@Slf4j
+@Service
+@UseWorkload(Workload.BACKGROUND)
+@RequiredArgsConstructor
+public class EventPartitionMaintenanceService {
+    private static final String PARTITION_PREFIX = "events_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${booking.events.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @Value("${booking.events.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${booking.events.drop-expired:false}")
+    private boolean dropExpired;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainPartitionsOnStartup() {
+        maintainPartitions();
+    }
+
+    @Scheduled(cron = "${booking.events.maintenance-cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+        log.info("Starting events partition maintenance");
+
+        try {
+            createUpcomingPartitions(YearMonth.now());
+            if (retentionMonths > 0) {
+                retireExpiredPartitions(YearMonth.now().minusMonths(retentionMonths));
+            }
+        } catch (Exception e) {
+            log.error("Error during events partition maintenance: {}", e.getMessage(), e);
+        }
+    }
+
+    private void createUpcomingPartitions(YearMonth currentMonth) {
+        for (int i = 0; i <= partitionsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            String partition = jdbcTemplate.queryForObject(
+                    "SELECT create_events_partition(?)", String.class, month.atDay(1));
+            log.debug("Ensured events partition {}", partition);
+        }
+    }
+
+    private void retireExpiredPartitions(YearMonth oldestRetainedMonth) {
+        for (String partition : findPartitions()) {
+            YearMonth month = parseMonth(partition);
+            if (month == null || !month.isBefore(oldestRetainedMonth)) {
+                continue;
+            }
+
+            jdbcTemplate.execute("ALTER TABLE events DETACH PARTITION " + partition + " CONCURRENTLY");
+            log.info("Detached expired events partition {}", partition);
+
+            if (dropExpired) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                log.info("Dropped expired events partition {}", partition);
+            }
+        }
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'events'::regclass ORDER BY c.relname",
+                String.class);
+    }
+
+    private YearMonth parseMonth(String partition) {
+        if (!partition.startsWith(PARTITION_PREFIX)) {
+            return null;
+        }
+        try {
+            return YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+        } catch (DateTimeParseException e) {
+            log.warn("Skipping events partition with unexpected name {}", partition);
+            return null;
+        }
+    }
+}
@@ -3,31 +3,40 @@ package org.spribe.booking.service.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.BookingMetrics;
 import org.spribe.booking.dto.PaymentRequest;
 import org.spribe.booking.dto.PaymentResponse;
 import org.spribe.booking.model.*;
 import org.spribe.booking.model.enumeration.BookingStatus;
 import org.spribe.booking.model.enumeration.EventType;
 import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.spribe.booking.repository.ArchivedPaymentRepository;
 import org.spribe.booking.repository.BookingRepository;
 import org.spribe.booking.repository.EventRepository;
 import org.spribe.booking.repository.PaymentRepository;
 import org.spribe.booking.service.PaymentService;
+import org.spribe.booking.service.RetryOnConflict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import static org.spribe.booking.config.SamplingTurboFilter.SAMPLED;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PaymentServiceImpl implements PaymentService {
     private final PaymentRepository paymentRepository;
+    private final ArchivedPaymentRepository archivedPaymentRepository;
     private final BookingRepository bookingRepository;
     private final EventRepository eventRepository;
     private final ObjectMapper objectMapper;
+    private final BookingMetrics bookingMetrics;
 
     @Override
     @Transactional
@@ -59,6 +68,7 @@ public class PaymentServiceImpl implements PaymentService {
                 .build();
         
         eventRepository.save(event);
+        bookingMetrics.paymentCommitted("created");
         
         return objectMapper.convertValue(payment, PaymentResponse.class);
     }
@@ -66,27 +76,42 @@ public class PaymentServiceImpl implements PaymentService {
     @Override
     @Transactional(readOnly = true)
     public PaymentResponse getPayment(UUID paymentId) {
-        log.info("Getting payment: {}", paymentId);
+        log.info(SAMPLED, "Getting payment: {}", paymentId);
         
-        Payment payment = paymentRepository.findById(paymentId)
+        return paymentRepository.findById(paymentId)
+                .map(payment -> objectMapper.convertValue(payment, PaymentResponse.class))
+                .or(() -> archivedPaymentRepository.findById(paymentId)
+                        .map(archived -> objectMapper.convertValue(archived, PaymentResponse.class)))
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
-        
-        return objectMapper.convertValue(payment, PaymentResponse.class);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findPaymentUpdatedAt(UUID paymentId) {
+        return paymentRepository.findUpdatedAtById(paymentId)
+                .or(() -> archivedPaymentRepository.findUpdatedAtById(paymentId));
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PaymentResponse> getPaymentsByBooking(UUID bookingId) {
-        log.info("Getting payments for booking: {}", bookingId);
-        
-        return paymentRepository.findByBookingId(bookingId).stream()
-                .map(payment -> objectMapper.convertValue(payment, PaymentResponse.class))
-                .collect(Collectors.toList());
+        log.info(SAMPLED, "Getting payments for booking: {}", bookingId);
+        
+        List<PaymentResponse> payments = paymentRepository.findByBookingId(bookingId);
+        if (payments.isEmpty()) {
+            // Payments of archived bookings are moved together with the booking
+            return archivedPaymentRepository.findByBookingId(bookingId).stream()
+                    .map(archived -> objectMapper.convertValue(archived, PaymentResponse.class))
+                    .collect(Collectors.toList());
+        }
+
+        return payments;
     }
 
     // Usually can be used by client application to mark payment as FAILED
     @Override
     @Transactional
+    @RetryOnConflict
     public PaymentResponse updatePaymentStatus(UUID paymentId, UUID userId, PaymentStatus status) {
         log.info("Updating payment status: {} to {}", paymentId, status);
         
@@ -104,16 +129,18 @@ public class PaymentServiceImpl implements PaymentService {
                 .build();
         
         eventRepository.save(event);
+        bookingMetrics.paymentCommitted(status.name().toLowerCase());
         
         return objectMapper.convertValue(payment, PaymentResponse.class);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public PaymentResponse processPayment(UUID paymentId, UUID userId) {
         log.info("Processing payment: {}", paymentId);
         
-        Payment payment = paymentRepository.findById(paymentId)
+        Payment payment = paymentRepository.findWithBookingById(paymentId)
                 .orElseThrow(() -> new RuntimeException("Payment not found"));
         
         if (payment.getStatus() != PaymentStatus.PENDING) {
@@ -138,12 +165,15 @@ public class PaymentServiceImpl implements PaymentService {
                 .build();
         
         eventRepository.save(event);
+        bookingMetrics.paymentCommitted("completed");
+        bookingMetrics.bookingCommitted("confirmed");
         
         return objectMapper.convertValue(payment, PaymentResponse.class);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public PaymentResponse refundPayment(UUID paymentId, UUID userId) {
         log.info("Refunding payment: {}", paymentId);
         
@@ -165,12 +195,14 @@ public class PaymentServiceImpl implements PaymentService {
                 .build();
         
         eventRepository.save(event);
+        bookingMetrics.paymentCommitted("refunded");
         
         return objectMapper.convertValue(payment, PaymentResponse.class);
     }
 
     @Override
     @Transactional
+    @RetryOnConflict
     public void cancelPendingPayments(UUID bookingId, UUID userId) {
         log.info("Cancelling pending payments for booking: {}", bookingId);
         
@@ -189,6 +221,7 @@ public class PaymentServiceImpl implements PaymentService {
                     .build();
             
             eventRepository.save(event);
+            bookingMetrics.paymentCommitted("cancelled");
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,75 @@
+package org.spribe.booking.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Prices in {@code long} minor units (cents). A unit's nightly price is its base price plus
+ * {@code booking.system-markup} percent, rounded half up to the cent once; a stay costs the
+ * nightly price times its {@link StayRate}, rounded once more. Amounts are converted from and to
+ * {@link BigDecimal} with scale 2 only where they enter or leave, so a price is computed without
+ * allocating and without a round trip through {@code double}.
+ */
+@Component
+public class PriceCalculator {
+    public static final int SCALE = 2;
+
+    private final int markupPercent;
+
+    public PriceCalculator(@Value("${booking.system-markup:15}") int markupPercent) {
+        if (markupPercent < 0) {
+            throw new IllegalArgumentException("Markup must be 0 or greater: " + markupPercent);
+        }
+        this.markupPercent = markupPercent;
+    }
+
+    public long nightlyPrice(long basePrice) {
+        return divideHalfUp(Math.multiplyExact(basePrice, 100 + markupPercent), 100);
+    }
+
+    public long stayPrice(long basePrice, int nights) {
+        return Math.multiplyExact(nightlyPrice(basePrice), nights);
+    }
+
+    public long stayPrice(long basePrice, StayRate rate) {
+        return divideHalfUp(Math.multiplyExact(nightlyPrice(basePrice), rate.weight()), StayRate.PAR);
+    }
+
+    public BigDecimal nightlyPrice(BigDecimal basePrice) {
+        return toDecimal(nightlyPrice(toMinorUnits(basePrice)));
+    }
+
+    public BigDecimal stayPrice(BigDecimal basePrice, StayRate rate) {
+        return toDecimal(stayPrice(toMinorUnits(basePrice), rate));
+    }
+
+    /**
+     * Nights between the check-in and check-out dates; a stay within one day counts as one night.
+     */
+    public static int nights(LocalDateTime checkIn, LocalDateTime checkOut) {
+        return (int) Math.max(1, ChronoUnit.DAYS.between(checkIn.toLocalDate(), checkOut.toLocalDate()));
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    // RoundingMode.HALF_UP: halves are rounded away from zero
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(dividend);
+        }
+        return quotient;
+    }
+}
@@ -0,0 +1,139 @@
+package org.spribe.booking.service.impl;
+
+import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.RatePlanProperties;
+import org.spribe.booking.config.RatePlanProperties.LengthOfStay;
+import org.spribe.booking.config.RatePlanProperties.Season;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Nightly rate multipliers of the rate plan in {@code booking.rates}, precomputed for
+ * {@code horizon-days} from today as prefix sums, so the rate of a stay takes two array reads
+ * whatever its length. The calendar is rebuilt every midnight; nights outside it are rated one
+ * by one from the same rules.
+ */
+@Slf4j
+public class RateCalendar {
+    private final RatePlanProperties properties;
+    private final Clock clock;
+    private final List<LengthOfStay> lengthOfStay;
+    private volatile Calendar calendar;
+
+    public RateCalendar(RatePlanProperties properties, Clock clock) {
+        if (properties.getHorizonDays() < 1) {
+            throw new IllegalArgumentException("Rate calendar horizon must be 1 day or more: " + properties.getHorizonDays());
+        }
+        validatePercent("weekend", properties.getWeekendPercent());
+        for (Season season : properties.getSeasons()) {
+            if (season.getFrom() == null || season.getTo() == null) {
+                throw new IllegalArgumentException("Season " + season.getName() + " needs a from and a to day");
+            }
+            validatePercent("season " + season.getName(), season.getPercent());
+        }
+        for (LengthOfStay discount : properties.getLengthOfStay()) {
+            if (discount.getDiscountPercent() < 0 || discount.getDiscountPercent() >= 100) {
+                throw new IllegalArgumentException("Length-of-stay discount must be from 0 to 99 percent: " + discount.getDiscountPercent());
+            }
+        }
+        this.properties = properties;
+        this.clock = clock;
+        this.lengthOfStay = properties.getLengthOfStay().stream()
+                .sorted(Comparator.comparingInt(LengthOfStay::getMinNights).reversed())
+                .toList();
+        this.calendar = build(LocalDate.now(clock));
+    }
+
+    @Scheduled(cron = "${booking.rates.rebuild-cron:0 0 0 * * *}")
+    public void rebuild() {
+        calendar = build(LocalDate.now(clock));
+        log.info("Rebuilt rate calendar from {} for {} days", calendar.start(), properties.getHorizonDays());
+    }
+
+    public StayRate stayRate(LocalDateTime checkIn, LocalDateTime checkOut) {
+        int nights = PriceCalculator.nights(checkIn, checkOut);
+        long multipliers = multipliers(checkIn.toLocalDate(), nights);
+        return new StayRate(nights, Math.multiplyExact(multipliers, 100 - discountPercent(nights)));
+    }
+
+    /**
+     * Lower bound on the stored nightly price of units whose average rate over the stay is at
+     * least {@code averageRate}; without both dates, the price range applies to the nightly price.
+     */
+    public BigDecimal minNightlyPrice(BigDecimal averageRate, LocalDateTime checkIn, LocalDateTime checkOut) {
+        if (averageRate == null || checkIn == null || checkOut == null) {
+            return averageRate;
+        }
+        return stayRate(checkIn, checkOut).minNightlyPrice(averageRate);
+    }
+
+    /** Upper bound on the stored nightly price of units whose average rate over the stay is at most {@code averageRate}. */
+    public BigDecimal maxNightlyPrice(BigDecimal averageRate, LocalDateTime checkIn, LocalDateTime checkOut) {
+        if (averageRate == null || checkIn == null || checkOut == null) {
+            return averageRate;
+        }
+        return stayRate(checkIn, checkOut).maxNightlyPrice(averageRate);
+    }
+
+    /** Multiplier of the night starting on {@code night}, in basis points of the nightly price, computed from the rate plan. */
+    public int nightlyMultiplier(LocalDate night) {
+        int weekendPercent = properties.getWeekendNights().contains(night.getDayOfWeek()) ? properties.getWeekendPercent() : 0;
+        return (100 + seasonPercent(MonthDay.from(night))) * (100 + weekendPercent);
+    }
+
+    private long multipliers(LocalDate firstNight, int nights) {
+        Calendar calendar = this.calendar;
+        long offset = ChronoUnit.DAYS.between(calendar.start(), firstNight);
+        if (offset >= 0 && offset + nights < calendar.prefixSums().length) {
+            return calendar.prefixSums()[(int) offset + nights] - calendar.prefixSums()[(int) offset];
+        }
+        long multipliers = 0;
+        for (int i = 0; i < nights; i++) {
+            multipliers += nightlyMultiplier(firstNight.plusDays(i));
+        }
+        return multipliers;
+    }
+
+    private Calendar build(LocalDate start) {
+        long[] prefixSums = new long[properties.getHorizonDays() + 1];
+        for (int i = 0; i < properties.getHorizonDays(); i++) {
+            prefixSums[i + 1] = prefixSums[i] + nightlyMultiplier(start.plusDays(i));
+        }
+        return new Calendar(start, prefixSums);
+    }
+
+    private int seasonPercent(MonthDay night) {
+        for (Season season : properties.getSeasons()) {
+            if (season.contains(night)) {
+                return season.getPercent();
+            }
+        }
+        return 0;
+    }
+
+    private int discountPercent(int nights) {
+        for (LengthOfStay discount : lengthOfStay) {
+            if (nights >= discount.getMinNights()) {
+                return discount.getDiscountPercent();
+            }
+        }
+        return 0;
+    }
+
+    private static void validatePercent(String modifier, int percent) {
+        if (percent <= -100) {
+            throw new IllegalArgumentException("Rate of " + modifier + " must stay above zero: " + percent + " percent");
+        }
+    }
+
+    // prefixSums[i] is the sum of the multipliers of the first i nights from start
+    private record Calendar(LocalDate start, long[] prefixSums) {}
+}
@@ -0,0 +1,124 @@
+package org.spribe.booking.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.CacheLookupEvent;
+import org.spribe.booking.dto.PageResponse;
+import org.spribe.booking.dto.UnitResponse;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.repository.ReactiveUnitSearchRepository;
+import org.spribe.booking.service.ReactiveUnitSearchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Non-blocking counterpart of {@link UnitServiceImpl#searchUnits}: result pages are looked up in
+ * and written to Redis with the reactive Lettuce client and read from Postgres over R2DBC, so a
+ * search never holds a request thread or a JDBC connection while it waits.
+ * <p>
+ * Pages are stored under the {@code unitSearch} cache, which unit writes evict along with
+ * {@code availableUnits}; bookings are only reflected once the entry expires.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveUnitSearchServiceImpl implements ReactiveUnitSearchService {
+    // Same key layout as RedisCacheManager, so @CacheEvict("unitSearch") clears these entries
+    static final String CACHE_KEY_PREFIX = "unitSearch::";
+    private static final TypeReference<PageResponse<UnitResponse>> PAGE_TYPE = new TypeReference<>() {};
+
+    private final ReactiveUnitSearchRepository reactiveUnitSearchRepository;
+    private final ReactiveStringRedisTemplate reactiveRedisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RateCalendar rateCalendar;
+
+    @Value("${booking.search.cache-ttl:30s}")
+    private Duration cacheTtl;
+
+    @Override
+    public Mono<PageResponse<UnitResponse>> searchUnits(UnitSearchRequest request) {
+        // Same checks as PageRequest.of in the blocking search, before anything is cached under the key
+        if (request.getPage() < 0) {
+            return Mono.error(new IllegalArgumentException("Page index must not be less than zero"));
+        }
+        if (request.getSize() < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must not be less than one"));
+        }
+        String key = CACHE_KEY_PREFIX + cacheKey(request);
+        CacheLookupEvent event = new CacheLookupEvent();
+        return reactiveRedisTemplate.opsForValue().get(key)
+                .doOnSubscribe(subscription -> event.begin())
+                .flatMap(this::deserialize)
+                .onErrorResume(e -> {
+                    log.warn("Unit search cache lookup failed: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .doOnSuccess(page -> recordLookup(event, key, page != null))
+                .switchIfEmpty(Mono.defer(() -> query(request)
+                        .flatMap(page -> cache(key, page).thenReturn(page))));
+    }
+
+    // Same event as lookups through the CacheManager, emitted on whichever thread completes the lookup
+    private void recordLookup(CacheLookupEvent event, String key, boolean hit) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = "unitSearch";
+            event.key = key.substring(CACHE_KEY_PREFIX.length());
+            event.hit = hit;
+            event.commit();
+        }
+    }
+
+    private Mono<PageResponse<UnitResponse>> query(UnitSearchRequest request) {
+        log.debug("Unit search cache miss, querying units with criteria: {}", request);
+        int page = request.getPage();
+        int size = request.getSize();
+        BigDecimal minPrice = rateCalendar.minNightlyPrice(request.getMinPrice(), request.getCheckInDate(), request.getCheckOutDate());
+        BigDecimal maxPrice = rateCalendar.maxNightlyPrice(request.getMaxPrice(), request.getCheckInDate(), request.getCheckOutDate());
+        return Mono.zip(
+                        reactiveUnitSearchRepository.search(request, minPrice, maxPrice, (long) page * size, size).collectList(),
+                        reactiveUnitSearchRepository.count(request, minPrice, maxPrice))
+                .map(result -> {
+                    List<UnitResponse> content = result.getT1();
+                    long total = result.getT2();
+                    int totalPages = (int) ((total + size - 1) / size);
+                    return new PageResponse<>(content, page, size, total, totalPages, page + 1 >= totalPages);
+                });
+    }
+
+    private Mono<Boolean> cache(String key, PageResponse<UnitResponse> page) {
+        try {
+            return reactiveRedisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(page), cacheTtl)
+                    .onErrorResume(e -> {
+                        log.warn("Unit search cache write failed: {}", e.getMessage());
+                        return Mono.just(false);
+                    });
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+    }
+
+    private Mono<PageResponse<UnitResponse>> deserialize(String json) {
+        return Mono.fromCallable(() -> objectMapper.readValue(json, PAGE_TYPE));
+    }
+
+    private String cacheKey(UnitSearchRequest request) {
+        return Stream.of(request.getNumberOfRooms(), request.getType(), request.getFloor(),
+                        request.getMinPrice() != null ? request.getMinPrice().stripTrailingZeros().toPlainString() : null,
+                        request.getMaxPrice() != null ? request.getMaxPrice().stripTrailingZeros().toPlainString() : null,
+                        request.getCheckInDate(), request.getCheckOutDate(), request.getPage(), request.getSize())
+                .map(String::valueOf)
+                .collect(Collectors.joining(":"));
+    }
+}
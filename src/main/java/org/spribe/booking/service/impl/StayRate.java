@@ -0,0 +1,44 @@
+package org.spribe.booking.service.impl;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Rate of a stay under the rate plan: the rate calendar's multipliers summed over its nights,
+ * less the length-of-stay discount, in millionths of the unit's nightly price. Pricing a stay is
+ * one multiplication, whatever its length.
+ */
+public record StayRate(int nights, long weight) {
+    /** Weight of one night at the unit's nightly price. */
+    public static final long PAR = 1_000_000;
+
+    public StayRate {
+        if (nights < 1 || weight <= 0) {
+            throw new IllegalArgumentException("Invalid stay rate: " + nights + " nights of weight " + weight);
+        }
+    }
+
+    /** Every night at the unit's nightly price. */
+    public static StayRate flat(int nights) {
+        return new StayRate(nights, Math.multiplyExact(nights, PAR));
+    }
+
+    /**
+     * Lowest nightly price whose average rate over the stay is at least the given price, so a price
+     * range on the average rate can be applied to the stored nightly prices.
+     */
+    public BigDecimal minNightlyPrice(BigDecimal averageRate) {
+        return nightlyPrice(averageRate, RoundingMode.CEILING);
+    }
+
+    /** Highest nightly price whose average rate over the stay is at most the given price. */
+    public BigDecimal maxNightlyPrice(BigDecimal averageRate) {
+        return nightlyPrice(averageRate, RoundingMode.FLOOR);
+    }
+
+    private BigDecimal nightlyPrice(BigDecimal averageRate, RoundingMode roundingMode) {
+        return averageRate
+                .multiply(BigDecimal.valueOf(nights * PAR))
+                .divide(BigDecimal.valueOf(weight), PriceCalculator.SCALE, roundingMode);
+    }
+}
@@ -1,8 +1,18 @@
 package org.spribe.booking.service.impl;
 
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.spribe.booking.config.UseWorkload;
+import org.spribe.booking.config.Workload;
+import org.spribe.booking.dto.UnitImportFormat;
+import org.spribe.booking.dto.UnitImportResponse;
 import org.spribe.booking.dto.UnitRequest;
 import org.spribe.booking.dto.UnitResponse;
 import org.spribe.booking.dto.UnitSearchRequest;
@@ -10,10 +20,12 @@ import org.spribe.booking.dto.PageResponse;
 import org.spribe.booking.model.Event;
 import org.spribe.booking.model.enumeration.EventType;
 import org.spribe.booking.model.Unit;
+import org.spribe.booking.model.generator.UuidV7Generator;
 import org.spribe.booking.repository.EventRepository;
+import org.spribe.booking.repository.UnitCopyRepository;
 import org.spribe.booking.repository.UnitRepository;
+import org.spribe.booking.service.RetryOnConflict;
 import org.spribe.booking.service.UnitService;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -21,25 +33,38 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.spribe.booking.config.SamplingTurboFilter.SAMPLED;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class UnitServiceImpl implements UnitService {
+    private static final ObjectReader CSV_READER = new CsvMapper()
+            .readerFor(UnitRequest.class)
+            .with(CsvSchema.emptySchema().withHeader());
+
     private final UnitRepository unitRepository;
+    private final UnitCopyRepository unitCopyRepository;
     private final EventRepository eventRepository;
     private final ObjectMapper objectMapper;
-
-    @Value("${booking.system-markup:15}")
-    private int systemMarkup;
+    private final Validator validator;
+    private final PriceCalculator priceCalculator;
+    private final RateCalendar rateCalendar;
 
     @Override
     @Transactional
-    @CacheEvict(value = "availableUnits", allEntries = true)
+    @CacheEvict(value = {"availableUnits", "unitSearch"}, allEntries = true)
     public UnitResponse createUnit(UnitRequest request, UUID userId) {
         log.info("Creating unit by user: {} - Cache will be evicted", userId);
         
@@ -48,9 +73,7 @@ public class UnitServiceImpl implements UnitService {
                 .type(request.getType())
                 .floor(request.getFloor())
                 .basePrice(request.getBasePrice())
-                .totalPrice(request.getBasePrice()
-                        .multiply(BigDecimal.valueOf(1 + systemMarkup / 100.0))
-                        .setScale(2, RoundingMode.HALF_UP))
+                .totalPrice(priceCalculator.nightlyPrice(request.getBasePrice()))
                 .description(request.getDescription())
                 .available(true)
                 .build();
@@ -71,7 +94,7 @@ public class UnitServiceImpl implements UnitService {
     @Override
     @Transactional(readOnly = true)
     public UnitResponse getUnit(UUID id) {
-        log.info("Getting unit: {}", id);
+        log.info(SAMPLED, "Getting unit: {}", id);
         
         Unit unit = unitRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Unit not found"));
@@ -79,9 +102,16 @@ public class UnitServiceImpl implements UnitService {
         return objectMapper.convertValue(unit, UnitResponse.class);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> findUnitUpdatedAt(UUID id) {
+        return unitRepository.findUpdatedAtById(id);
+    }
+
     @Override
     @Transactional
-    @CacheEvict(value = "availableUnits", allEntries = true)
+    @RetryOnConflict
+    @CacheEvict(value = {"availableUnits", "unitSearch"}, allEntries = true)
     public UnitResponse updateUnit(UUID id, UnitRequest request, UUID userId) {
         log.info("Updating unit: {} by user: {} - Cache will be evicted", id, userId);
         
@@ -109,7 +139,8 @@ public class UnitServiceImpl implements UnitService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "availableUnits", allEntries = true)
+    @RetryOnConflict
+    @CacheEvict(value = {"availableUnits", "unitSearch"}, allEntries = true)
     public void deleteUnit(UUID id, UUID userId) {
         log.info("Deleting unit: {} by user: {} - Cache will be evicted", id, userId);
         
@@ -130,25 +161,24 @@ public class UnitServiceImpl implements UnitService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UnitResponse> searchUnits(UnitSearchRequest request) {
-        log.info("Searching units with criteria: {}", request);
-        
-        Page<Unit> units = unitRepository.searchUnits(
+        log.info(SAMPLED, "Searching units with criteria: {}", request);
+
+        // The price range applies to the average nightly rate of the stay under the rate plan
+        BigDecimal minPrice = rateCalendar.minNightlyPrice(request.getMinPrice(), request.getCheckInDate(), request.getCheckOutDate());
+        BigDecimal maxPrice = rateCalendar.maxNightlyPrice(request.getMaxPrice(), request.getCheckInDate(), request.getCheckOutDate());
+        Page<UnitResponse> units = unitRepository.searchUnits(
                 request.getNumberOfRooms(),
                 request.getType(),
                 request.getFloor(),
-                request.getMinPrice() != null? request.getMinPrice().doubleValue() : null,
-                request.getMaxPrice() != null? request.getMaxPrice().doubleValue() : null,
+                minPrice != null ? minPrice.doubleValue() : null,
+                maxPrice != null ? maxPrice.doubleValue() : null,
                 request.getCheckInDate(),
                 request.getCheckOutDate(),
                 PageRequest.of(request.getPage(), request.getSize())
         );
         
-        List<UnitResponse> unitResponses = units.getContent().stream()
-                .map(unit -> objectMapper.convertValue(unit, UnitResponse.class))
-                .toList();
-        
         return new PageResponse<>(
-                unitResponses,
+                units.getContent(),
                 units.getNumber(),
                 units.getSize(),
                 units.getTotalElements(),
@@ -166,4 +196,69 @@ public class UnitServiceImpl implements UnitService {
         log.info("Found {} available units in database", count);
         return count;
     }
+
+    @Override
+    @Transactional
+    @UseWorkload(Workload.BULK)
+    @CacheEvict(value = {"availableUnits", "unitSearch"}, allEntries = true)
+    public UnitImportResponse importUnits(InputStream input, UnitImportFormat format, UUID userId) {
+        log.info("Importing units from {} by user: {} - Cache will be evicted", format, userId);
+
+        long imported;
+        try (MappingIterator<UnitRequest> rows = reader(format).readValues(input)) {
+            imported = unitCopyRepository.copy(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return rows.hasNext();
+                }
+
+                @Override
+                public Unit next() {
+                    UnitRequest request = rows.next();
+                    validate(request, rows.getCurrentLocation().getLineNr());
+                    return Unit.builder()
+                            .id(UuidV7Generator.nextUuid())
+                            .numberOfRooms(request.getNumberOfRooms())
+                            .type(request.getType())
+                            .floor(request.getFloor())
+                            .basePrice(request.getBasePrice())
+                            .totalPrice(priceCalculator.nightlyPrice(request.getBasePrice()))
+                            .description(request.getDescription())
+                            .available(true)
+                            .build();
+                }
+            });
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read units import: " + e.getMessage(), e);
+        }
+
+        UUID importId = UuidV7Generator.nextUuid();
+        Event event = Event.builder()
+                .type(EventType.UNIT_IMPORTED)
+                .entityId(importId)
+                .userId(userId)
+                .description("Units imported: " + imported)
+                .build();
+        eventRepository.save(event);
+
+        log.info("Imported {} units, import id: {}", imported, importId);
+        return new UnitImportResponse(importId, imported);
+    }
+
+    private ObjectReader reader(UnitImportFormat format) {
+        return switch (format) {
+            case CSV -> CSV_READER;
+            case NDJSON -> objectMapper.readerFor(UnitRequest.class);
+        };
+    }
+
+    private void validate(UnitRequest request, int line) {
+        Set<ConstraintViolation<UnitRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            throw new RuntimeException("Invalid unit at line " + line + ": " + violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+    }
 } 
\ No newline at end of file
@@ -21,6 +21,8 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.UUID;
 
+import static org.spribe.booking.config.SamplingTurboFilter.SAMPLED;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -61,7 +63,7 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public UserResponse getUser(UUID id) {
-        log.info("Getting user: {}", id);
+        log.info(SAMPLED, "Getting user: {}", id);
         
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -121,16 +123,12 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional(readOnly = true)
     public PageResponse<UserResponse> getAllUsers(int page, int size) {
-        log.info("Getting all users, page: {}, size: {}", page, size);
-        
-        Page<User> users = userRepository.findAll(PageRequest.of(page, size));
+        log.info(SAMPLED, "Getting all users, page: {}, size: {}", page, size);
         
-        List<UserResponse> userResponses = users.getContent().stream()
-                .map(user -> objectMapper.convertValue(user, UserResponse.class))
-                .toList();
+        Page<UserResponse> users = userRepository.findAllResponses(PageRequest.of(page, size));
         
         return new PageResponse<>(
-                userResponses,
+                users.getContent(),
                 users.getNumber(),
                 users.getSize(),
                 users.getTotalElements(),
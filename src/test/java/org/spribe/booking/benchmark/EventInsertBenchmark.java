@@ -0,0 +1,130 @@
+package org.spribe.booking.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.model.generator.UuidV7Generator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares inserting random (v4) and time-ordered (v7) primary keys into a copy of the
+ * {@code events} table. Run with {@code ./gradlew benchmark -Dbenchmark.rows=10000000}.
+ */
+@Tag("benchmark")
+class EventInsertBenchmark {
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int BATCH_SIZE = 5_000;
+
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("booking_benchmark")
+            .withUsername("booking_user")
+            .withPassword("pass");
+
+    @BeforeAll
+    static void startContainer() {
+        postgresContainer.start();
+    }
+
+    @AfterAll
+    static void stopContainer() {
+        postgresContainer.stop();
+    }
+
+    @Test
+    void insertEvents_UuidV7ComparedToUuidV4() throws SQLException {
+        Result v4 = run("events_uuid_v4", UUID::randomUUID);
+        Result v7 = run("events_uuid_v7", UuidV7Generator::nextUuid);
+
+        System.out.printf("%-8s %12s %16s %16s %16s%n", "ids", "rows/s", "pk index bytes", "table bytes", "wal bytes");
+        System.out.printf("%-8s %12.0f %16d %16d %16d%n", "uuid v4", v4.rowsPerSecond(), v4.indexBytes(), v4.tableBytes(), v4.walBytes());
+        System.out.printf("%-8s %12.0f %16d %16d %16d%n", "uuid v7", v7.rowsPerSecond(), v7.indexBytes(), v7.tableBytes(), v7.walBytes());
+
+        assertTrue(v7.indexBytes() <= v4.indexBytes(), "Time-ordered ids should not produce a larger primary key index");
+    }
+
+    private Result run(String table, Supplier<UUID> ids) throws SQLException {
+        try (Connection connection = connect()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE IF EXISTS " + table);
+                statement.execute("CREATE TABLE " + table + " (" +
+                        "id uuid PRIMARY KEY, " +
+                        "type varchar(50) NOT NULL, " +
+                        "entity_id uuid NOT NULL, " +
+                        "user_id uuid NOT NULL, " +
+                        "description text, " +
+                        "created_at timestamp NOT NULL)");
+                statement.execute("CHECKPOINT");
+            }
+
+            long walStart = currentWalLsn(connection);
+            long start = System.nanoTime();
+
+            connection.setAutoCommit(false);
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO " + table +
+                    " (id, type, entity_id, user_id, description, created_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+                UUID userId = UUID.randomUUID();
+                for (int i = 1; i <= ROWS; i++) {
+                    insert.setObject(1, ids.get());
+                    insert.setString(2, "BOOKING_CREATED");
+                    insert.setObject(3, UUID.randomUUID());
+                    insert.setObject(4, userId);
+                    insert.setString(5, "Benchmark event " + i);
+                    insert.setTimestamp(6, Timestamp.valueOf(LocalDateTime.now()));
+                    insert.addBatch();
+                    if (i % BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        connection.commit();
+                    }
+                }
+                insert.executeBatch();
+                connection.commit();
+            }
+            connection.setAutoCommit(true);
+
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+            long walBytes = currentWalLsn(connection) - walStart;
+
+            return new Result(
+                    ROWS / seconds,
+                    querySize(connection, "pg_relation_size('" + table + "_pkey')"),
+                    querySize(connection, "pg_relation_size('" + table + "')"),
+                    walBytes);
+        }
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(
+                postgresContainer.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                postgresContainer.getUsername(),
+                postgresContainer.getPassword());
+    }
+
+    private long currentWalLsn(Connection connection) throws SQLException {
+        return querySize(connection, "pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint");
+    }
+
+    private long querySize(Connection connection, String expression) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT " + expression)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private record Result(double rowsPerSecond, long indexBytes, long tableBytes, long walBytes) {}
+}
@@ -0,0 +1,184 @@
+package org.spribe.booking.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.SamplingTurboFilter;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.model.enumeration.AccommodationType;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Replays the log statements of a unit search request, i.e. the service line and Hibernate's
+ * statement and bind parameter logging of the page and count queries, from several threads and
+ * prints the logging time per request: with logging off, with the former synchronous DEBUG/TRACE
+ * text setup and with the asynchronous, sampled JSON setup of {@code logback-spring.xml}. Output
+ * goes to a file standing in for the console. Run with
+ * {@code ./gradlew benchmark --tests '*LoggingBenchmark' -Dbenchmark.log-requests=200000}.
+ */
+@Tag("benchmark")
+class LoggingBenchmark {
+    private static final int REQUESTS = Integer.getInteger("benchmark.log-requests", 50_000);
+    private static final int THREADS = Integer.getInteger("benchmark.log-threads", 8);
+    private static final String SEARCH_SQL = """
+            select
+                u1_0.id,
+                u1_0.number_of_rooms,
+                u1_0.type,
+                u1_0.floor,
+                u1_0.total_price,
+                u1_0.description
+            from
+                units u1_0
+            where
+                u1_0.available
+                and (? is null or u1_0.number_of_rooms=?)
+                and (? is null or u1_0.type=?)
+                and (? is null or u1_0.total_price>=?)
+            order by
+                u1_0.created_at desc
+            offset ? rows fetch first ? rows only""";
+    private static final int BIND_PARAMETERS = 8;
+
+    @Test
+    void searchRequest_AsyncSampledComparedToSyncDebug() throws Exception {
+        UnitSearchRequest request = new UnitSearchRequest();
+        request.setNumberOfRooms(2);
+        request.setType(AccommodationType.FLAT);
+        request.setMinPrice(new BigDecimal("50.00"));
+        request.setCheckInDate(LocalDateTime.now().plusDays(1));
+        request.setCheckOutDate(LocalDateTime.now().plusDays(3));
+
+        // Warm-up of all three, then the measured runs
+        run(Setup.OFF, request);
+        run(Setup.SYNC_DEBUG, request);
+        run(Setup.ASYNC_SAMPLED, request);
+
+        double off = run(Setup.OFF, request);
+        double syncDebug = run(Setup.SYNC_DEBUG, request);
+        double asyncSampled = run(Setup.ASYNC_SAMPLED, request);
+
+        System.out.printf("%-28s %18s%n", "setup", "ns/request");
+        System.out.printf("%-28s %18.0f%n", "off", off);
+        System.out.printf("%-28s %18.0f%n", "sync text, DEBUG/TRACE", syncDebug);
+        System.out.printf("%-28s %18.0f%n", "async JSON, INFO, sampled", asyncSampled);
+
+        assertTrue(asyncSampled < syncDebug, "Asynchronous sampled logging should cost less per request than synchronous DEBUG logging");
+    }
+
+    private double run(Setup setup, UnitSearchRequest request) throws Exception {
+        Path file = Files.createTempFile("logging-benchmark", ".log");
+        LoggerContext context = setup.context(file);
+        try {
+            Logger service = context.getLogger("org.spribe.booking.service.impl.UnitServiceImpl");
+            Logger sql = context.getLogger("org.hibernate.SQL");
+            Logger bind = context.getLogger("org.hibernate.orm.jdbc.bind");
+
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                long start = System.nanoTime();
+                List<Future<?>> workers = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    workers.add(executor.submit(() -> {
+                        for (int i = 0; i < REQUESTS / THREADS; i++) {
+                            logRequest(setup, service, sql, bind, request);
+                        }
+                    }));
+                }
+                for (Future<?> worker : workers) {
+                    worker.get();
+                }
+                // Request threads are done once they return; the async queue drains on its own
+                return (double) (System.nanoTime() - start) * THREADS / REQUESTS;
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            context.stop();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void logRequest(Setup setup, Logger service, Logger sql, Logger bind, UnitSearchRequest request) {
+        if (setup == Setup.ASYNC_SAMPLED) {
+            service.info(SamplingTurboFilter.SAMPLED, "Searching units with criteria: {}", request);
+        } else {
+            service.info("Searching units with criteria: {}", request);
+        }
+        // The page query and the count query
+        for (int query = 0; query < 2; query++) {
+            sql.debug(SEARCH_SQL);
+            for (int parameter = 1; parameter <= BIND_PARAMETERS; parameter++) {
+                bind.trace("binding parameter [{}] as [{}] - [{}]", parameter, "INTEGER", parameter * 7);
+            }
+        }
+    }
+
+    private enum Setup {
+        OFF, SYNC_DEBUG, ASYNC_SAMPLED;
+
+        LoggerContext context(Path file) throws IOException {
+            LoggerContext context = new LoggerContext();
+            Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+            switch (this) {
+                case OFF -> root.setLevel(Level.OFF);
+                case SYNC_DEBUG -> {
+                    root.setLevel(Level.INFO);
+                    context.getLogger("org.spribe.booking").setLevel(Level.DEBUG);
+                    context.getLogger("org.hibernate.SQL").setLevel(Level.DEBUG);
+                    context.getLogger("org.hibernate.orm.jdbc.bind").setLevel(Level.TRACE);
+                    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+                    encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p %pid --- [%15.15t] %-40.40logger{39} : %m%n");
+                    root.addAppender(file(context, encoder, file));
+                }
+                case ASYNC_SAMPLED -> {
+                    root.setLevel(Level.INFO);
+                    SamplingTurboFilter sampling = new SamplingTurboFilter();
+                    sampling.setContext(context);
+                    sampling.start();
+                    context.addTurboFilter(sampling);
+                    AsyncAppender async = new AsyncAppender();
+                    async.setContext(context);
+                    async.setQueueSize(8192);
+                    async.setNeverBlock(true);
+                    async.addAppender(file(context, new LogstashEncoder(), file));
+                    async.start();
+                    root.addAppender(async);
+                }
+            }
+            return context;
+        }
+
+        private static Appender<ILoggingEvent> file(LoggerContext context, Encoder<ILoggingEvent> encoder, Path file) {
+            encoder.setContext(context);
+            encoder.start();
+            FileAppender<ILoggingEvent> appender = new FileAppender<>();
+            appender.setContext(context);
+            appender.setFile(file.toString());
+            appender.setEncoder(encoder);
+            appender.start();
+            return appender;
+        }
+    }
+}
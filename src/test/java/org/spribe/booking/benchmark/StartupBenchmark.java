@@ -0,0 +1,193 @@
+package org.spribe.booking.benchmark;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Starts the boot jar and the fast-start build (Spring AOT plus AppCDS) as separate JVMs against
+ * the same database and prints the median time until the first unit search succeeds, until the
+ * readiness probe is up, and the resident memory at that point. Run with
+ * {@code ./gradlew -PfastStart benchmark --tests '*StartupBenchmark' -Dbenchmark.startup-runs=10}.
+ */
+@Tag("benchmark")
+class StartupBenchmark {
+    private static final int RUNS = Integer.getInteger("benchmark.startup-runs", 5);
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+    private static final String BOOT_JAR = System.getProperty("benchmark.boot-jar");
+    private static final String FAST_START_JAR = System.getProperty("benchmark.fast-start-jar");
+    private static final String CDS_ARCHIVE = System.getProperty("benchmark.cds-archive");
+
+    private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("booking_startup")
+            .withUsername("booking_user")
+            .withPassword("pass");
+
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(200))
+            .build();
+
+    @BeforeAll
+    static void startServices() {
+        assumeTrue(BOOT_JAR != null && FAST_START_JAR != null && CDS_ARCHIVE != null,
+                "Jars are only passed to the benchmark in fast-start mode (-PfastStart)");
+        postgresContainer.start();
+        redisContainer.start();
+    }
+
+    @AfterAll
+    static void stopServices() {
+        redisContainer.stop();
+        postgresContainer.stop();
+    }
+
+    @Test
+    void startup_BootJarComparedToFastStart() throws Exception {
+        List<String> java = List.of(ProcessHandle.current().info().command().orElse("java"));
+        List<String> bootJar = concat(java, List.of("-jar", BOOT_JAR));
+        List<String> fastStart = concat(java, List.of("-XX:SharedArchiveFile=" + CDS_ARCHIVE,
+                "-Dspring.aot.enabled=true", "-jar", FAST_START_JAR));
+
+        // Startup migrates the schema, so the first start of either variant is discarded
+        start(bootJar);
+
+        List<Sample> bootJarSamples = new ArrayList<>();
+        List<Sample> fastStartSamples = new ArrayList<>();
+        for (int i = 0; i < RUNS; i++) {
+            bootJarSamples.add(start(bootJar));
+            fastStartSamples.add(start(fastStart));
+        }
+
+        System.out.printf("%-11s %22s %18s %10s%n", "variant", "first request ms", "readiness ms", "RSS MB");
+        print("boot jar", bootJarSamples);
+        print("fast start", fastStartSamples);
+
+        assertTrue(median(fastStartSamples, Sample::firstRequestMillis) < median(bootJarSamples, Sample::firstRequestMillis),
+                "Fast-start mode should serve its first request sooner than the boot jar");
+    }
+
+    private Sample start(List<String> command) throws Exception {
+        int port = freePort();
+        List<String> arguments = concat(command, List.of(
+                "--server.port=" + port,
+                "--spring.datasource.url=" + postgresContainer.getJdbcUrl(),
+                "--spring.datasource.username=" + postgresContainer.getUsername(),
+                "--spring.datasource.password=" + postgresContainer.getPassword(),
+                "--spring.r2dbc.url=r2dbc:postgresql://" + postgresContainer.getHost() + ":"
+                        + postgresContainer.getMappedPort(5432) + "/" + postgresContainer.getDatabaseName(),
+                "--spring.data.redis.host=" + redisContainer.getHost(),
+                "--spring.data.redis.port=" + redisContainer.getMappedPort(6379),
+                "--data-initializer.enabled=false",
+                "--logging.level.org.spribe.booking=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.orm.jdbc.bind=WARN"));
+
+        Path log = Files.createTempFile("startup-benchmark", ".log");
+        File workingDirectory = new File(command.get(command.size() - 1)).getParentFile();
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .directory(workingDirectory)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        try {
+            HttpRequest search = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/units/search"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"page\": 0, \"size\": 20}"))
+                    .build();
+            long firstRequestNanos = awaitOk(process, search, start, log) - start;
+
+            HttpRequest readiness = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/actuator/health/readiness")).build();
+            long readinessNanos = awaitOk(process, readiness, start, log) - start;
+
+            return new Sample(firstRequestNanos / 1_000_000, readinessNanos / 1_000_000, residentMegabytes(process.pid()));
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private long awaitOk(Process process, HttpRequest request, long start, Path log) throws Exception {
+        while (System.nanoTime() - start < STARTUP_TIMEOUT.toNanos()) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Application exited during startup:\n" + Files.readString(log));
+            }
+            try {
+                if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime();
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("Application did not answer " + request.uri() + " within " + STARTUP_TIMEOUT);
+    }
+
+    // VmRSS of /proc; only available on Linux
+    private long residentMegabytes(long pid) throws IOException {
+        Path status = Path.of("/proc", Long.toString(pid), "status");
+        if (!Files.exists(status)) {
+            return -1;
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .map(line -> Long.parseLong(line.replaceAll("\\D", "")) / 1024)
+                .findFirst()
+                .orElse(-1L);
+    }
+
+    private int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private void print(String variant, List<Sample> samples) {
+        System.out.printf("%-11s %22d %18d %10d%n", variant, median(samples, Sample::firstRequestMillis),
+                median(samples, Sample::readinessMillis), median(samples, Sample::residentMegabytes));
+    }
+
+    private long median(List<Sample> samples, ToLongFunction<Sample> metric) {
+        long[] values = samples.stream().mapToLong(metric).toArray();
+        Arrays.sort(values);
+        return values[values.length / 2];
+    }
+
+    private static List<String> concat(List<String> first, List<String> second) {
+        List<String> result = new ArrayList<>(first);
+        result.addAll(second);
+        return result;
+    }
+
+    private record Sample(long firstRequestMillis, long readinessMillis, long residentMegabytes) {}
+}
@@ -0,0 +1,171 @@
+package org.spribe.booking.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.BookingApplication;
+import org.spribe.booking.config.TestContainersConfig;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the search and booking endpoints with many concurrent clients, once with Tomcat on
+ * platform threads and once with {@code spring.threads.virtual.enabled}, and prints throughput
+ * and latency percentiles for both. Run with
+ * {@code ./gradlew benchmark -Dbenchmark.concurrency=800 -Dbenchmark.requests=20000}.
+ */
+@Tag("benchmark")
+class ThreadModelLoadBenchmark {
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 5_000);
+    private static final int UNITS = Integer.getInteger("benchmark.units", 5_000);
+    private static final String TOMCAT_THREADS = System.getProperty("benchmark.tomcat-threads", "200");
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    void searchAndBooking_PlatformComparedToVirtualThreads() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads)) {
+                String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort() + "/api/v1";
+                String threads = virtualThreads ? "virtual" : "platform";
+
+                seedUnits(context.getBean(JdbcTemplate.class));
+                run(i -> search(baseUrl, i), Math.min(REQUESTS, 1_000)); // warm-up
+                results.add(new Result(threads, "search", run(i -> search(baseUrl, i), REQUESTS)));
+
+                List<UUID> unitIds = context.getBean(JdbcTemplate.class)
+                        .queryForList("SELECT id FROM units WHERE available AND description LIKE 'Load test%'", UUID.class);
+                int bookings = Math.min(REQUESTS, unitIds.size());
+                results.add(new Result(threads, "booking", run(i -> booking(baseUrl, unitIds.get(i)), bookings)));
+            }
+        }
+
+        System.out.printf("%-9s %-8s %10s %8s %10s %10s %10s%n", "threads", "endpoint", "req/s", "errors", "p50 ms", "p99 ms", "max ms");
+        for (Result result : results) {
+            Run run = result.run();
+            System.out.printf("%-9s %-8s %10.0f %8d %10.1f %10.1f %10.1f%n", result.threads(), result.endpoint(),
+                    run.requestsPerSecond(), run.errors(), run.percentile(0.5), run.percentile(0.99), run.percentile(1.0));
+        }
+
+        for (Result result : results) {
+            assertTrue(result.run().errors() <= result.run().latenciesNanos().length / 100,
+                    result.threads() + " " + result.endpoint() + " failed " + result.run().errors() + " requests");
+        }
+    }
+
+    private ConfigurableApplicationContext start(boolean virtualThreads) {
+        return new SpringApplicationBuilder(BookingApplication.class, TestContainersConfig.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_THREADS,
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "logging.level.org.spribe.booking=WARN",
+                        "logging.level.org.hibernate.SQL=WARN",
+                        "logging.level.org.hibernate.orm.jdbc.bind=WARN")
+                .run();
+    }
+
+    private void seedUnits(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.update("DELETE FROM payments WHERE booking_id IN (SELECT b.id FROM bookings b JOIN units u ON u.id = b.unit_id " +
+                "WHERE u.description LIKE 'Load test%')");
+        jdbcTemplate.update("DELETE FROM bookings WHERE unit_id IN (SELECT id FROM units WHERE description LIKE 'Load test%')");
+        jdbcTemplate.update("DELETE FROM units WHERE description LIKE 'Load test%'");
+        jdbcTemplate.update("INSERT INTO units (id, number_of_rooms, type, floor, base_price, total_price, description, available, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 1 + g % 5, (ARRAY['HOME', 'FLAT', 'APARTMENTS'])[1 + g % 3], g % 20, " +
+                "50 + g % 450, (50 + g % 450) * 1.15, 'Load test unit ' || g, true, now(), now() " +
+                "FROM generate_series(1, ?) g", UNITS);
+        jdbcTemplate.execute("ANALYZE units");
+    }
+
+    private HttpRequest search(String baseUrl, int i) {
+        String body = String.format("{\"numberOfRooms\": %d, \"minPrice\": 50, \"maxPrice\": %d, \"page\": %d, \"size\": 20}",
+                1 + i % 5, 100 + i % 400, i % 5);
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/units/search"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest booking(String baseUrl, UUID unitId) {
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(30);
+        String body = String.format("{\"unitId\": \"%s\", \"checkInDate\": \"%s\", \"checkOutDate\": \"%s\"}",
+                unitId, checkIn, checkIn.plusDays(3));
+        return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                .header("Content-Type", "application/json")
+                .header("X-User-Id", USER_ID.toString())
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private Run run(IntFunction<HttpRequest> requests, int count) throws Exception {
+        long[] latencies = new long[count];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+            for (int c = 0; c < CONCURRENCY; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < count; i = next.getAndIncrement()) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(requests.apply(i), HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            clients.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Arrays.sort(latencies);
+        return new Run(count / seconds, errors.get(), latencies);
+    }
+
+    private record Run(double requestsPerSecond, int errors, long[] latenciesNanos) {
+        double percentile(double percentile) {
+            int index = (int) Math.ceil(percentile * latenciesNanos.length) - 1;
+            return latenciesNanos[Math.max(0, index)] / 1_000_000.0;
+        }
+    }
+
+    private record Result(String threads, String endpoint, Run run) {}
+}
@@ -0,0 +1,183 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class AdmissionControlFilterTest {
+    private static final String ABUSER = "7f1c7c4e-0000-4000-8000-000000000001";
+    private static final String WELL_BEHAVED = "7f1c7c4e-0000-4000-8000-000000000002";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger threadsAwaitingConnection = new AtomicInteger();
+    private MutableClock clock;
+    private AdmissionProperties properties;
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-20T10:00:00Z"));
+
+        AdmissionProperties.Group bookings = new AdmissionProperties.Group();
+        bookings.setMethods(List.of("POST"));
+        bookings.setPaths(List.of("/api/v1/bookings", "/api/v1/bookings/**"));
+        bookings.setUser(limit(1, 3));
+        bookings.setGlobal(limit(100, 5));
+
+        properties = new AdmissionProperties();
+        properties.setEnabled(true);
+        properties.setMaxThreadsAwaitingConnection(10);
+        properties.setRetryAfter(Duration.ofSeconds(2));
+        properties.getGroups().put("bookings", bookings);
+
+        filter = new AdmissionControlFilter(properties, new InMemoryTokenBuckets(clock),
+                threadsAwaitingConnection::get, meterRegistry);
+    }
+
+    @Test
+    void userOverLimit_IsRejectedWhileOtherUsersAreAdmitted() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(ABUSER).getStatus());
+        }
+
+        MockHttpServletResponse rejected = post(ABUSER);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals(200, post(WELL_BEHAVED).getStatus());
+        assertEquals(1, meterRegistry.counter("booking.admission.rejected", "group", "bookings", "reason", "user_rate").count());
+
+        clock.advance(Duration.ofSeconds(1));
+        assertEquals(200, post(ABUSER).getStatus());
+    }
+
+    @Test
+    void groupOverGlobalLimit_IsRejected() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, post("7f1c7c4e-0000-4000-8000-00000000010" + i).getStatus());
+        }
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), post(WELL_BEHAVED).getStatus());
+    }
+
+    @Test
+    void globalRejection_LeavesUserTokens() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertEquals(200, post("7f1c7c4e-0000-4000-8000-00000000010" + i).getStatus());
+        }
+        for (int i = 0; i < 3; i++) {
+            assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), post(WELL_BEHAVED).getStatus());
+        }
+        assertEquals(3, meterRegistry.counter("booking.admission.rejected", "group", "bookings", "reason", "global_rate").count());
+
+        // Refills the shared bucket but not a drained user bucket
+        clock.advance(Duration.ofMillis(50));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(WELL_BEHAVED).getStatus());
+        }
+    }
+
+    @Test
+    void concurrencyRejection_TakesNoTokens() throws Exception {
+        properties.setMaxConcurrentRequests(1);
+
+        MockHttpServletResponse holder = post(ABUSER, (request, response) -> {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), post(WELL_BEHAVED).getStatus());
+            }
+        });
+
+        assertEquals(200, holder.getStatus());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(200, post(WELL_BEHAVED).getStatus());
+        }
+    }
+
+    @Test
+    void saturatedPool_ShedsLoadWithRetryAfter() throws Exception {
+        threadsAwaitingConnection.set(10);
+
+        MockHttpServletResponse response = post(WELL_BEHAVED);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE.value(), response.getStatus());
+        assertEquals("2", response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void requestsOutsideGroups_PassThrough() throws Exception {
+        threadsAwaitingConnection.set(10);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/bookings/123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, response, chain);
+
+        assertEquals(200, response.getStatus());
+        assertEquals(request, chain.getRequest());
+        assertNull(response.getHeader(HttpHeaders.RETRY_AFTER));
+    }
+
+    private MockHttpServletResponse post(String userId) throws ServletException, IOException {
+        return post(userId, new MockFilterChain());
+    }
+
+    private MockHttpServletResponse post(String userId, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        request.addHeader(RecentWriteFilter.USER_ID_HEADER, userId);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private AdmissionProperties.Limit limit(double rate, int burst) {
+        AdmissionProperties.Limit limit = new AdmissionProperties.Limit();
+        limit.setRate(rate);
+        limit.setBurst(burst);
+        return limit;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package org.spribe.booking.config;
+
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.dto.BookingRequest;
+import org.spribe.booking.dto.BookingResponse;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.service.BookingService;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class FlightRecorderTest {
+    private final FlightRecorderProperties properties = new FlightRecorderProperties();
+    private final FlightRecordings flightRecordings = new FlightRecordings(properties);
+    private Recording recording;
+
+    @BeforeEach
+    void setUp() {
+        recording = new Recording();
+        for (Class<? extends jdk.jfr.Event> event : List.of(BookingOperationEvent.class, CacheLookupEvent.class)) {
+            recording.enable(event);
+        }
+        recording.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        recording.close();
+    }
+
+    @Test
+    void bookingCall_EmitsEventWithIds() throws Exception {
+        UUID bookingId = UUID.randomUUID();
+        UUID unitId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        BookingResponse response = new BookingResponse();
+        response.setId(bookingId);
+        response.setUnitId(unitId);
+        response.setUserId(userId);
+        response.setStatus(BookingStatus.PENDING_PAYMENT);
+
+        BookingService bookingService = mock(BookingService.class);
+        when(bookingService.createBooking(any(), any())).thenReturn(response);
+        when(bookingService.cancelBooking(any(), any())).thenThrow(new RuntimeException("Booking not found"));
+        BookingService proxy = proxy(bookingService);
+
+        BookingRequest request = new BookingRequest();
+        request.setUnitId(unitId);
+        proxy.createBooking(request, userId);
+        assertThrows(RuntimeException.class, () -> proxy.cancelBooking(bookingId, userId));
+
+        List<RecordedEvent> events = events("org.spribe.booking.BookingOperation");
+        assertEquals(2, events.size());
+
+        RecordedEvent created = events.get(0);
+        assertEquals("createBooking", created.getString("operation"));
+        assertEquals(bookingId.toString(), created.getString("bookingId"));
+        assertEquals(unitId.toString(), created.getString("unitId"));
+        assertEquals(userId.toString(), created.getString("userId"));
+        assertEquals("PENDING_PAYMENT", created.getString("status"));
+        assertEquals(1, created.getInt("rows"));
+        assertNull(created.getString("exception"));
+
+        RecordedEvent cancelled = events.get(1);
+        assertEquals("cancelBooking", cancelled.getString("operation"));
+        assertEquals(bookingId.toString(), cancelled.getString("bookingId"));
+        assertEquals("RuntimeException", cancelled.getString("exception"));
+    }
+
+    @Test
+    void cacheLookups_RecordHitsAndMisses() throws Exception {
+        Cache cache = new FlightRecordingCacheManager(new ConcurrentMapCacheManager("availableUnits")).getCache("availableUnits");
+
+        assertNull(cache.get("count"));
+        assertEquals(90L, cache.get("count", () -> 90L));
+        assertEquals(90L, cache.get("count", Long.class));
+
+        List<RecordedEvent> events = events("org.spribe.booking.CacheLookup");
+        assertEquals(3, events.size());
+        assertTrue(events.stream().allMatch(event -> "availableUnits".equals(event.getString("cache"))
+                && "count".equals(event.getString("key"))));
+        assertFalse(events.get(0).getBoolean("hit"));
+        assertFalse(events.get(1).getBoolean("hit"));
+        assertTrue(events.get(2).getBoolean("hit"));
+    }
+
+    @Test
+    void recording_CanBeStartedDumpedAndStopped() throws Exception {
+        properties.setContinuous(true);
+        properties.setMaxSize(DataSize.ofMegabytes(10));
+        flightRecordings.start();
+        try {
+            FlightRecordings.RecordingDescriptor started = flightRecordings.start("spike", null, Duration.ofMinutes(5), null);
+            assertTrue(flightRecordings.recordings().stream().anyMatch(r -> r.id() == started.id()));
+            assertTrue(flightRecordings.recordings().stream().anyMatch(r -> FlightRecordings.CONTINUOUS.equals(r.name())));
+
+            new FlightRecordingCacheManager(new ConcurrentMapCacheManager("units")).getCache("units").get("unit");
+
+            Path dump = flightRecordings.dump(started.id()).orElseThrow();
+            try {
+                assertTrue(RecordingFile.readAllEvents(dump).stream()
+                        .anyMatch(event -> event.getEventType().getName().equals("org.spribe.booking.CacheLookup")));
+            } finally {
+                Files.deleteIfExists(dump);
+            }
+
+            assertEquals("spike", flightRecordings.stop(started.id()).orElseThrow().name());
+            assertFalse(flightRecordings.recordings().stream().anyMatch(r -> r.id() == started.id()));
+            assertTrue(flightRecordings.stop(started.id()).isEmpty());
+        } finally {
+            flightRecordings.stop();
+        }
+        assertFalse(flightRecordings.isRunning());
+    }
+
+    @Test
+    void recording_IsCappedInDurationAndSize() {
+        properties.setMaxRecordingDuration(Duration.ofMinutes(10));
+        properties.setMaxRecordingSize(DataSize.ofMegabytes(20));
+
+        assertThrows(IllegalArgumentException.class, () -> flightRecordings.start("long", null, Duration.ofHours(1), null));
+        assertThrows(IllegalArgumentException.class, () -> flightRecordings.start("negative", null, Duration.ofMinutes(-1), null));
+
+        FlightRecordings.RecordingDescriptor started = flightRecordings.start("unbounded", null, null, null);
+        try {
+            assertEquals(Duration.ofMinutes(10), started.duration());
+            assertEquals(DataSize.ofMegabytes(20).toBytes(), FlightRecorder.getFlightRecorder().getRecordings().stream()
+                    .filter(r -> r.getId() == started.id())
+                    .findFirst().orElseThrow().getMaxSize());
+        } finally {
+            flightRecordings.stop(started.id());
+        }
+    }
+
+    private BookingService proxy(BookingService target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addInterface(BookingService.class);
+        factory.addAspect(new FlightRecorderAspect());
+        return factory.getProxy();
+    }
+
+    private List<RecordedEvent> events(String name) throws Exception {
+        Path file = Files.createTempFile("flight-recorder-test", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().equals(name))
+                    .toList();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
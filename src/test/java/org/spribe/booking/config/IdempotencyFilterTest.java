@@ -0,0 +1,266 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyFilterTest {
+    private static final String USER_ID = "7f1c7c4e-0000-4000-8000-000000000001";
+    private static final String BODY = "{\"unitId\":\"7f1c7c4e-0000-4000-8000-0000000000aa\"}";
+
+    private final AtomicInteger executions = new AtomicInteger();
+    private IdempotencyProperties properties;
+    private InMemoryIdempotencyStore store;
+    private IdempotencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IdempotencyProperties();
+        properties.setEnabled(true);
+        properties.setPaths(List.of("/api/v1/bookings", "/api/v1/payments"));
+        properties.setWaitTimeout(Duration.ofSeconds(5));
+        properties.setPollInterval(Duration.ofMillis(5));
+
+        store = new InMemoryIdempotencyStore();
+        filter = new IdempotencyFilter(properties, store, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void retryWithSameKey_IsAnsweredFromStore() throws Exception {
+        MockHttpServletResponse first = post("key-1", BODY, created());
+        MockHttpServletResponse retry = post("key-1", BODY, created());
+
+        assertEquals(1, executions.get());
+        assertEquals(200, retry.getStatus());
+        assertEquals(first.getContentAsString(), retry.getContentAsString());
+        assertEquals("application/json", retry.getContentType());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void sameKeyWithDifferentBody_IsRejected() throws Exception {
+        post("key-1", BODY, created());
+
+        MockHttpServletResponse response = post("key-1", "{\"unitId\":\"other\"}", created());
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY.value(), response.getStatus());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    void failedRequest_ReleasesKeyForRetry() throws Exception {
+        MockHttpServletResponse failed = post("key-1", BODY, (request, response) -> {
+            executions.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(500);
+        });
+        MockHttpServletResponse retry = post("key-1", BODY, created());
+
+        assertEquals(500, failed.getStatus());
+        assertEquals(200, retry.getStatus());
+        assertEquals(2, executions.get());
+    }
+
+    @Test
+    void concurrentDuplicate_WaitsForFirstRequest() throws Exception {
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            firstStarted.countDown();
+            try {
+                releaseFirst.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post("key-1", BODY, slowChain));
+            firstStarted.await(5, TimeUnit.SECONDS);
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> post("key-1", BODY, created()));
+
+            Thread.sleep(50);
+            releaseFirst.countDown();
+
+            assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals("true", duplicate.get(5, TimeUnit.SECONDS).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void requestOutlivingLockTimeout_KeepsItsClaim() throws Exception {
+        properties.setLockTimeout(Duration.ofMillis(300));
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        FilterChain slowChain = (request, response) -> {
+            firstStarted.countDown();
+            try {
+                Thread.sleep(1200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            created().doFilter(request, response);
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<MockHttpServletResponse> first = executor.submit(() -> post("key-1", BODY, slowChain));
+            firstStarted.await(5, TimeUnit.SECONDS);
+            // Arrives after the unrenewed claim would have expired
+            Thread.sleep(600);
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> post("key-1", BODY, created()));
+
+            assertEquals(200, first.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals("true", duplicate.get(5, TimeUnit.SECONDS).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void failedRequestThatLostItsClaim_KeepsNewerResponse() throws Exception {
+        MockHttpServletResponse first = post("key-1", BODY, (request, response) -> {
+            executions.incrementAndGet();
+            // The claim expires while this request stalls, and a retry runs and completes meanwhile
+            store.expire(USER_ID + ":key-1");
+            post("key-1", BODY, created());
+            ((HttpServletResponse) response).setStatus(500);
+        });
+        MockHttpServletResponse retry = post("key-1", BODY, created());
+
+        assertEquals(500, first.getStatus());
+        assertEquals(2, executions.get());
+        assertEquals("true", retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void readListener_ReceivesBufferedBody() throws Exception {
+        MockHttpServletResponse response = post("key-1", BODY, (request, servletResponse) -> {
+            executions.incrementAndGet();
+            ServletInputStream input = request.getInputStream();
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            input.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() throws IOException {
+                    while (input.isReady() && !input.isFinished()) {
+                        body.write(input.read());
+                    }
+                }
+
+                @Override
+                public void onAllDataRead() throws IOException {
+                    servletResponse.getWriter().write(body.toString(StandardCharsets.UTF_8));
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                    ((HttpServletResponse) servletResponse).setStatus(500);
+                }
+            });
+        });
+
+        assertEquals(200, response.getStatus());
+        assertEquals(BODY, response.getContentAsString());
+    }
+
+    @Test
+    void requestWithoutKey_IsNotDeduplicated() throws Exception {
+        post(null, BODY, created());
+        post(null, BODY, created());
+
+        assertEquals(2, executions.get());
+    }
+
+    private FilterChain created() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            // Consumes the body like a controller would
+            String body = new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            response.setContentType("application/json");
+            response.getWriter().write("{\"id\":" + executions.get() + ",\"request\":" + body + "}");
+        };
+    }
+
+    private MockHttpServletResponse post(String idempotencyKey, String body, FilterChain chain)
+            throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/bookings");
+        request.addHeader(RecentWriteFilter.USER_ID_HEADER, USER_ID);
+        if (idempotencyKey != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    // Expires claims like Redis does, so renewals are needed to keep them
+    private static class InMemoryIdempotencyStore implements IdempotencyStore {
+        private final Map<String, Entry> records = new ConcurrentHashMap<>();
+
+        @Override
+        public Optional<IdempotencyRecord> claim(String key, String fingerprint, Duration lockTimeout) {
+            Entry claimed = new Entry(IdempotencyRecord.pending(fingerprint), System.nanoTime() + lockTimeout.toNanos());
+            Entry current = records.compute(key, (k, existing) -> existing == null || existing.isExpired() ? claimed : existing);
+            return current == claimed ? Optional.empty() : Optional.of(current.record());
+        }
+
+        @Override
+        public void renew(String key, String fingerprint, Duration lockTimeout) {
+            records.computeIfPresent(key, (k, existing) -> existing.record().equals(IdempotencyRecord.pending(fingerprint))
+                    && !existing.isExpired() ? new Entry(existing.record(), System.nanoTime() + lockTimeout.toNanos()) : existing);
+        }
+
+        @Override
+        public void complete(String key, IdempotencyRecord record, Duration ttl) {
+            records.put(key, new Entry(record, System.nanoTime() + ttl.toNanos()));
+        }
+
+        @Override
+        public void release(String key, String fingerprint) {
+            records.computeIfPresent(key, (k, existing) -> existing.record().equals(IdempotencyRecord.pending(fingerprint))
+                    && !existing.isExpired() ? null : existing);
+        }
+
+        void expire(String key) {
+            records.remove(key);
+        }
+
+        private record Entry(IdempotencyRecord record, long expiresAt) {
+            boolean isExpired() {
+                return System.nanoTime() - expiresAt >= 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package org.spribe.booking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final PostgreSQLContainer<?> primaryContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("booking_primary")
+            .withUsername("booking_user")
+            .withPassword("pass");
+
+    private static final PostgreSQLContainer<?> replicaContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+            .withDatabaseName("booking_replica")
+            .withUsername("booking_user")
+            .withPassword("pass");
+
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private RecentWriteTracker recentWriteTracker;
+    private MutableClock clock;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    static void startContainers() {
+        primaryContainer.start();
+        replicaContainer.start();
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        primaryContainer.stop();
+        replicaContainer.stop();
+    }
+
+    @BeforeEach
+    void setUp() {
+        primary = pool(primaryContainer);
+        replica = pool(replicaContainer);
+        clock = new MutableClock(Instant.parse("2024-03-20T10:00:00Z"));
+        recentWriteTracker = new RecentWriteTracker(Duration.ofSeconds(5), clock);
+
+        ReplicaRoutingDataSource replicaRouting = new ReplicaRoutingDataSource(primary, List.of(replica), recentWriteTracker);
+        replicaRouting.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaRouting);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recentWriteTracker.clearCurrentUser();
+        primary.close();
+        replica.close();
+    }
+
+    @Test
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("booking_primary", readWrite.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_UsesReplica() {
+        assertEquals("booking_replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOwnWrite_StaysOnPrimaryUntilStalenessBoundPasses() {
+        UUID userId = UUID.randomUUID();
+        recentWriteTracker.recordWrite(userId);
+        recentWriteTracker.bindCurrentUser(userId);
+
+        assertEquals("booking_primary", readOnly.execute(status -> currentDatabase()));
+
+        clock.advance(Duration.ofSeconds(6));
+
+        assertEquals("booking_replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readOnlyTransaction_AfterOtherUsersWrite_UsesReplica() {
+        recentWriteTracker.recordWrite(UUID.randomUUID());
+        recentWriteTracker.bindCurrentUser(UUID.randomUUID());
+
+        assertEquals("booking_replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT current_database()", String.class);
+    }
+
+    private static HikariDataSource pool(PostgreSQLContainer<?> container) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(container.getJdbcUrl());
+        dataSource.setUsername(container.getUsername());
+        dataSource.setPassword(container.getPassword());
+        dataSource.setMaximumPoolSize(2);
+        return dataSource;
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
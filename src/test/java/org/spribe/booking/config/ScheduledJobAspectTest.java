@@ -0,0 +1,154 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScheduledJobAspectTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private MutableClock clock;
+    private Jobs jobs;
+    private Jobs proxy;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-03-20T10:00:00Z"));
+        jobs = new Jobs();
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(jobs);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ScheduledJobAspect(meterRegistry, clock));
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void overlappingRun_IsSkipped() throws Exception {
+        CompletableFuture<Void> first = CompletableFuture.runAsync(proxy::slow);
+        assertEquals(true, jobs.slowStarted.await(5, TimeUnit.SECONDS));
+
+        proxy.slow();
+        jobs.releaseSlow.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, jobs.slowRuns.get());
+        assertEquals(1, meterRegistry.counter("booking.scheduler.job.skipped", "job", "Jobs.slow").count());
+
+        proxy.slow();
+        assertEquals(2, jobs.slowRuns.get());
+    }
+
+    @Test
+    void failedRun_IsRecordedAndRethrown() {
+        assertThrows(IllegalStateException.class, proxy::failing);
+
+        Timer failures = meterRegistry.find("booking.scheduler.job.duration")
+                .tags("job", "Jobs.failing", "outcome", "failure").timer();
+        assertEquals(1, failures.count());
+
+        // The job is not left marked as running
+        assertThrows(IllegalStateException.class, proxy::failing);
+        assertEquals(2, failures.count());
+    }
+
+    @Test
+    void lateFixedRateRun_RecordsLagAgainstSchedule() {
+        proxy.everyMinute();
+        assertNull(meterRegistry.find("booking.scheduler.job.lag").timer());
+
+        clock.advance(Duration.ofSeconds(90));
+        proxy.everyMinute();
+        // Due at 10:02 on the original grid, so on time
+        clock.advance(Duration.ofSeconds(30));
+        proxy.everyMinute();
+
+        Timer lag = meterRegistry.find("booking.scheduler.job.lag").tags("job", "Jobs.everyMinute").timer();
+        assertEquals(2, lag.count());
+        assertEquals(30_000, lag.max(TimeUnit.MILLISECONDS));
+        assertEquals(30_000, lag.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void cronRun_RecordsLagAgainstNextFireTime() {
+        proxy.everyFiveMinutes();
+
+        clock.advance(Duration.ofMinutes(5).plusSeconds(3));
+        proxy.everyFiveMinutes();
+
+        Timer lag = meterRegistry.find("booking.scheduler.job.lag").tags("job", "Jobs.everyFiveMinutes").timer();
+        assertEquals(3_000, lag.totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    static class Jobs {
+        final CountDownLatch slowStarted = new CountDownLatch(1);
+        final CountDownLatch releaseSlow = new CountDownLatch(1);
+        final AtomicInteger slowRuns = new AtomicInteger();
+
+        @Scheduled(fixedDelay = 1000)
+        public void slow() {
+            slowRuns.incrementAndGet();
+            slowStarted.countDown();
+            try {
+                releaseSlow.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Scheduled(fixedRate = 60000)
+        public void failing() {
+            throw new IllegalStateException("Job failed");
+        }
+
+        @Scheduled(fixedRate = 1, timeUnit = TimeUnit.MINUTES)
+        public void everyMinute() {
+        }
+
+        @Scheduled(cron = "0 */5 * * * *", zone = "UTC")
+        public void everyFiveMinutes() {
+        }
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
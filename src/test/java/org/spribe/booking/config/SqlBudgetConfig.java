@@ -0,0 +1,23 @@
+package org.spribe.booking.config;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+
+/**
+ * Records the statements of the primary data source with {@link SqlRecordingConfig} and
+ * registers {@link SqlBudgetFilter} in front of every other filter.
+ */
+@TestConfiguration
+@Import(SqlRecordingConfig.class)
+public class SqlBudgetConfig {
+
+    @Bean
+    public FilterRegistrationBean<SqlBudgetFilter> sqlBudgetFilter() {
+        FilterRegistrationBean<SqlBudgetFilter> registration = new FilterRegistrationBean<>(new SqlBudgetFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
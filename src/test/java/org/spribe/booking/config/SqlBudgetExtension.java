@@ -0,0 +1,37 @@
+package org.spribe.booking.config;
+
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the statements of every request a test class made to
+ * {@code build/reports/sql-budgets/<test class>.txt}, duplicate and N+1 statements first.
+ */
+public class SqlBudgetExtension implements BeforeAllCallback, AfterAllCallback {
+    private static final Path REPORTS = Path.of("build", "reports", "sql-budgets");
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        SqlBudgetFilter.drainReports();
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws IOException {
+        List<SqlBudgetFilter.EndpointReport> reports = SqlBudgetFilter.drainReports();
+        if (reports.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(REPORTS);
+        Files.writeString(REPORTS.resolve(context.getRequiredTestClass().getSimpleName() + ".txt"),
+                reports.stream()
+                        .map(SqlBudgetFilter.EndpointReport::format)
+                        .collect(Collectors.joining("\n")));
+    }
+}
@@ -0,0 +1,130 @@
+package org.spribe.booking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Records the statements each request executes and fails the request with an
+ * {@link AssertionError} when its endpoint goes over its {@link SqlBudgets budget}. Requests of
+ * endpoints without a budget are only reported. Reports are kept until
+ * {@link SqlBudgetExtension} writes them out after the test class.
+ */
+public class SqlBudgetFilter extends OncePerRequestFilter {
+    private static final List<EndpointReport> REPORTS = new ArrayList<>();
+
+    static synchronized List<EndpointReport> drainReports() {
+        List<EndpointReport> reports = new ArrayList<>(REPORTS);
+        REPORTS.clear();
+        return reports;
+    }
+
+    private static synchronized void add(EndpointReport report) {
+        REPORTS.add(report);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementRecorder.start();
+        List<SqlStatementRecorder.Statement> statements;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            statements = SqlStatementRecorder.stop();
+        }
+
+        EndpointReport report = new EndpointReport(endpoint(request), statements);
+        add(report);
+        SqlBudgets.Budget budget = SqlBudgets.get(report.endpoint());
+        if (budget != null && !report.within(budget)) {
+            fail(report.endpoint() + " is over its SQL budget of " + budget.statements() + " statements and "
+                    + budget.selects() + " selects" + SqlBudgets.time().map(limit -> " in " + limit.toMillis() + " ms").orElse("")
+                    + ":\n" + report.format());
+        }
+    }
+
+    // The mapped pattern, so every booking id counts against the same endpoint
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+
+    public record EndpointReport(String endpoint, List<SqlStatementRecorder.Statement> statements) {
+
+        public long selects() {
+            return statements.stream().filter(statement -> statement.kind().equals("select")).count();
+        }
+
+        public Duration time() {
+            return statements.stream()
+                    .map(SqlStatementRecorder.Statement::elapsed)
+                    .reduce(Duration.ZERO, Duration::plus);
+        }
+
+        public boolean within(SqlBudgets.Budget budget) {
+            return statements.size() <= budget.statements()
+                    && selects() <= budget.selects()
+                    && SqlBudgets.time().map(limit -> time().compareTo(limit) <= 0).orElse(true);
+        }
+
+        /** Statements executed more than once with the same parameters; the later ones return nothing new. */
+        public Map<String, Long> duplicates() {
+            return repeated(statement -> statement.sql() + " " + statement.parameters());
+        }
+
+        /** Selects executed more than once with different parameters, typically one per row of an earlier result. */
+        public Map<String, Long> nPlusOne() {
+            Map<String, List<List<String>>> parametersBySql = statements.stream()
+                    .filter(statement -> statement.kind().equals("select"))
+                    .collect(Collectors.groupingBy(SqlStatementRecorder.Statement::sql, LinkedHashMap::new,
+                            Collectors.mapping(SqlStatementRecorder.Statement::parameters, Collectors.toList())));
+            Map<String, Long> nPlusOne = new LinkedHashMap<>();
+            parametersBySql.forEach((sql, parameters) -> {
+                long distinct = parameters.stream().distinct().count();
+                if (distinct > 1) {
+                    nPlusOne.put(sql, distinct);
+                }
+            });
+            return nPlusOne;
+        }
+
+        public String format() {
+            Map<String, Long> kinds = statements.stream()
+                    .collect(Collectors.groupingBy(SqlStatementRecorder.Statement::kind, TreeMap::new, Collectors.counting()));
+            StringBuilder report = new StringBuilder()
+                    .append(endpoint).append(": ").append(statements.size()).append(" statements ").append(kinds)
+                    .append(" in ").append(String.format("%.1f", time().toNanos() / 1_000_000.0)).append(" ms\n");
+            duplicates().forEach((statement, count) ->
+                    report.append("  duplicate x").append(count).append(": ").append(statement).append('\n'));
+            nPlusOne().forEach((sql, count) ->
+                    report.append("  n+1 x").append(count).append(": ").append(sql).append('\n'));
+            for (SqlStatementRecorder.Statement statement : statements) {
+                report.append("    ").append(statement.sql()).append(' ').append(statement.parameters()).append('\n');
+            }
+            return report.toString();
+        }
+
+        private Map<String, Long> repeated(Function<SqlStatementRecorder.Statement, String> key) {
+            Map<String, Long> counts = statements.stream()
+                    .collect(Collectors.groupingBy(key, LinkedHashMap::new, Collectors.counting()));
+            counts.values().removeIf(count -> count < 2);
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.spribe.booking.config;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Holds every request of a {@code @SpringBootTest} to the {@link SqlBudgets} of its endpoint and
+ * reports the statements each request executed.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Import(SqlBudgetConfig.class)
+@ExtendWith(SqlBudgetExtension.class)
+public @interface SqlBudgeted {
+}
@@ -0,0 +1,52 @@
+package org.spribe.booking.config;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Most statements and selects a single request to an endpoint may execute, keyed by method and
+ * mapped path pattern. Raise a budget only together with the change that needs the extra
+ * statement; a loop over rows shows up as a failure here instead of in production.
+ * <p>
+ * Statement time depends on the machine and on how warm the database is, so it is only reported,
+ * unless a limit per request is given with {@code -Dsql-budget.time}, e.g. {@code 2s}.
+ */
+public final class SqlBudgets {
+    private static final Optional<Duration> TIME = Optional.ofNullable(System.getProperty("sql-budget.time"))
+            .map(DurationStyle::detectAndParse);
+
+    private static final Map<String, Budget> BUDGETS = Map.of(
+            // unit, overlapping bookings, unit update, booking and event inserts
+            "POST /api/v1/bookings", new Budget(5, 2),
+            // updatedAt only when If-None-Match is sent, then the booking
+            "GET /api/v1/bookings/{id}", new Budget(2, 2),
+            // page and count
+            "GET /api/v1/bookings/user", new Budget(2, 2),
+            // booking, its unit, both updates and the event
+            "POST /api/v1/bookings/{id}/cancel", new Budget(5, 2),
+            // booking, payment and event inserts
+            "POST /api/v1/payments", new Budget(3, 1),
+            // payment fetched with its booking, both updates and the event
+            "POST /api/v1/payments/{id}/process", new Budget(4, 1),
+            // payments, then the archive when there are none
+            "GET /api/v1/payments/booking/{bookingId}", new Budget(2, 2),
+            // page and count
+            "POST /api/v1/units/search", new Budget(2, 2));
+
+    private SqlBudgets() {
+    }
+
+    public static Budget get(String endpoint) {
+        return BUDGETS.get(endpoint);
+    }
+
+    /** Total statement time a request may take, when a limit was given. */
+    public static Optional<Duration> time() {
+        return TIME;
+    }
+
+    public record Budget(int statements, int selects) {}
+}
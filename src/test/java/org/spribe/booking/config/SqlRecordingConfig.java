@@ -0,0 +1,31 @@
+package org.spribe.booking.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the JDBC statements of the primary data source through {@link SqlStatementRecorder}.
+ */
+@TestConfiguration
+public class SqlRecordingConfig {
+
+    @Bean
+    public static BeanPostProcessor sqlRecordingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name("sql-budget")
+                            .listener(new SqlStatementRecorder())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
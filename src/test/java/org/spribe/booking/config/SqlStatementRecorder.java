@@ -0,0 +1,140 @@
+package org.spribe.booking.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.jdbc.core.SqlParameterValue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Records every statement executed through the proxied data source on the current thread, with
+ * its bound parameters and how long the driver took to execute it. It sits below Hibernate, so it
+ * sees JDBC and native statements too. Register it with {@link SqlRecordingConfig} and wrap the
+ * operation under test in {@link #record}.
+ */
+public class SqlStatementRecorder implements QueryExecutionListener {
+    private static final ThreadLocal<List<Statement>> STATEMENTS = new ThreadLocal<>();
+    private static final String START = "sqlStatementRecorder.start";
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<Statement> stop() {
+        List<Statement> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements : List.of();
+    }
+
+    public static Recording record(Runnable operation) {
+        return record(() -> {
+            operation.run();
+            return null;
+        });
+    }
+
+    public static <T> Recording record(Supplier<T> operation) {
+        List<Statement> statements = new ArrayList<>();
+        STATEMENTS.set(statements);
+        try {
+            operation.get();
+        } finally {
+            STATEMENTS.remove();
+        }
+        return new Recording(statements);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (STATEMENTS.get() != null) {
+            execInfo.addCustomValue(START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        List<Statement> statements = STATEMENTS.get();
+        Long start = execInfo.getCustomValue(START, Long.class);
+        if (statements == null || start == null) {
+            return;
+        }
+        // A batch is one round trip; its time is split evenly over its statements
+        Duration elapsed = Duration.ofNanos((System.nanoTime() - start) / Math.max(1, queryInfoList.size()));
+        for (QueryInfo query : queryInfoList) {
+            List<List<Object>> values = query.getParametersList().stream()
+                    .map(SqlStatementRecorder::values)
+                    .toList();
+            statements.add(new Statement(query.getQuery(), values, elapsed));
+        }
+    }
+
+    // Arguments are the parameter index followed by the value, or by the SQL type for setNull
+    private static List<Object> values(List<ParameterSetOperation> operations) {
+        return operations.stream()
+                .sorted(Comparator.comparingInt(operation -> operation.getArgs()[0] instanceof Integer index ? index : 0))
+                .map(operation -> ParameterSetOperation.isSetNullParameterOperation(operation)
+                        ? new SqlParameterValue((Integer) operation.getArgs()[1], null)
+                        : operation.getArgs().length > 1 ? operation.getArgs()[1] : null)
+                .toList();
+    }
+
+    /**
+     * An executed statement with the values bound to it, one list per batch entry. A {@code null}
+     * bound with its SQL type is kept as a {@link SqlParameterValue}, so the statement can be run
+     * again, e.g. under {@code EXPLAIN}.
+     */
+    public record Statement(String sql, List<List<Object>> values, Duration elapsed) {
+
+        public List<String> parameters() {
+            return values.stream()
+                    .map(entry -> entry.stream()
+                            .map(value -> String.valueOf(value instanceof SqlParameterValue typed ? typed.getValue() : value))
+                            .collect(Collectors.joining(", ")))
+                    .toList();
+        }
+
+        public String kind() {
+            String sql = this.sql.stripLeading().toLowerCase(Locale.ROOT);
+            int end = 0;
+            while (end < sql.length() && Character.isLetter(sql.charAt(end))) {
+                end++;
+            }
+            return end > 0 ? sql.substring(0, end) : "other";
+        }
+    }
+
+    public record Recording(List<Statement> statements) {
+
+        public long selects() {
+            return count("select");
+        }
+
+        public long count(String kind) {
+            return statements.stream().filter(statement -> statement.kind().equals(kind)).count();
+        }
+
+        public void assertSelectsAtMost(long budget, String operation) {
+            assertTrue(selects() <= budget, operation + " issued " + selects() + " selects, budget is " + budget + ":\n" + format());
+        }
+
+        public void assertStatementsAtMost(long budget, String operation) {
+            assertTrue(statements.size() <= budget, operation + " issued " + statements.size() + " statements, budget is " + budget + ":\n" + format());
+        }
+
+        private String format() {
+            return statements.stream()
+                    .map(statement -> statement.sql() + " " + statement.parameters())
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+}
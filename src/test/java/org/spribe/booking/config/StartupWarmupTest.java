@@ -0,0 +1,86 @@
+package org.spribe.booking.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StartupWarmupTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> runs = new ArrayList<>();
+
+    @Test
+    void warmup_RunsTasksInOrderOffTheStartupThread() {
+        AtomicReference<Runnable> submitted = new AtomicReference<>();
+        StartupWarmup warmup = warmup(submitted::set, new CacheTask(), new DataTask());
+
+        warmup.startWarmup();
+
+        assertTrue(runs.isEmpty());
+        assertEquals(Status.OUT_OF_SERVICE, warmup.health().getStatus());
+
+        submitted.get().run();
+
+        assertEquals(List.of("data", "cache"), runs);
+        Health health = warmup.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(List.of("DataTask", "CacheTask"), new ArrayList<>(health.getDetails().keySet()));
+        assertEquals(1, meterRegistry.find("booking.startup.warmup").tags("task", "DataTask", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void failingTask_DoesNotHoldBackReadiness() {
+        StartupWarmup warmup = warmup(Runnable::run, new DataTask(), new FailingTask(), new CacheTask());
+
+        warmup.startWarmup();
+
+        assertEquals(List.of("data", "cache"), runs);
+        assertEquals(Status.UP, warmup.health().getStatus());
+        assertTrue(warmup.health().getDetails().get("FailingTask").toString().startsWith("failure"));
+        assertEquals(1, meterRegistry.find("booking.startup.warmup").tags("task", "FailingTask", "outcome", "failure").timer().count());
+    }
+
+    private StartupWarmup warmup(TaskExecutor executor, WarmupTask... tasks) {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.setDependencyComparator(AnnotationAwareOrderComparator.INSTANCE);
+        for (WarmupTask task : tasks) {
+            beanFactory.registerSingleton(task.getClass().getSimpleName(), task);
+        }
+        return new StartupWarmup(beanFactory.getBeanProvider(WarmupTask.class), executor, meterRegistry);
+    }
+
+    @Order(1)
+    private class DataTask implements WarmupTask {
+        @Override
+        public void warmUp() {
+            runs.add("data");
+        }
+    }
+
+    @Order(2)
+    private class FailingTask implements WarmupTask {
+        @Override
+        public void warmUp() {
+            throw new IllegalStateException("Redis is down");
+        }
+    }
+
+    @Order(3)
+    private class CacheTask implements WarmupTask {
+        @Override
+        public void warmUp() {
+            runs.add("cache");
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.spribe.booking.config;
+
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.SyntheticDataGenerator.SyntheticBooking;
+import org.spribe.booking.config.SyntheticDataGenerator.SyntheticUnit;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.RateCalendar;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SyntheticDataGeneratorTest {
+    private static final LocalDateTime ANCHOR = LocalDateTime.of(2025, 6, 1, 0, 0);
+    private static final int UNITS = 200;
+
+    private final PriceCalculator priceCalculator = new PriceCalculator(15);
+    private final RateCalendar rateCalendar = new RateCalendar(ratePlan(),
+            Clock.fixed(ANCHOR.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    @Test
+    void sameSeed_GeneratesSameRows() {
+        SyntheticDataGenerator first = generator(42);
+        SyntheticDataGenerator second = generator(42);
+
+        for (int i = 0; i < UNITS; i++) {
+            SyntheticUnit unit = first.unit(i);
+            assertEquals(unit, second.unit(i));
+            assertEquals(first.bookings(unit), second.bookings(second.unit(i)));
+        }
+        assertEquals(first.userId(7), second.userId(7));
+    }
+
+    @Test
+    void differentSeed_GeneratesDifferentRows() {
+        assertNotEquals(generator(42).unit(0), generator(43).unit(0));
+    }
+
+    @Test
+    void bookings_DoNotDoubleBookUnits() {
+        SyntheticDataGenerator generator = generator(42);
+
+        long total = 0;
+        for (int i = 0; i < UNITS; i++) {
+            List<SyntheticBooking> bookings = generator.bookings(generator.unit(i)).stream()
+                    .filter(booking -> booking.status() != BookingStatus.CANCELLED)
+                    .toList();
+            total += bookings.size();
+            for (int j = 1; j < bookings.size(); j++) {
+                assertFalse(bookings.get(j).checkIn().isBefore(bookings.get(j - 1).checkOut()),
+                        "Unit " + i + " is double booked: " + bookings.get(j - 1) + " and " + bookings.get(j));
+            }
+        }
+        assertTrue(total > UNITS, "Expected several bookings per unit, got " + total);
+    }
+
+    @Test
+    void bookings_StatusMatchesStayDates() {
+        SyntheticDataGenerator generator = generator(42);
+
+        for (int i = 0; i < UNITS; i++) {
+            for (SyntheticBooking booking : generator.bookings(generator.unit(i))) {
+                assertTrue(booking.checkIn().isBefore(booking.checkOut()));
+                assertFalse(booking.createdAt().isAfter(ANCHOR));
+                switch (booking.status()) {
+                    case COMPLETED -> assertFalse(booking.checkOut().isAfter(ANCHOR));
+                    case PENDING_PAYMENT -> assertTrue(booking.checkIn().isAfter(ANCHOR));
+                    case CONFIRMED -> assertTrue(booking.checkOut().isAfter(ANCHOR));
+                    case CANCELLED -> { }
+                }
+            }
+        }
+    }
+
+    @Test
+    void pendingBookings_HoldPastGenerationTime() {
+        LocalDateTime now = ANCHOR.plusHours(14).plusMinutes(37);
+        SyntheticDataGenerator generator = generator(42);
+        generator.startAt(now);
+
+        int pending = 0;
+        for (int i = 0; i < UNITS; i++) {
+            for (SyntheticBooking booking : generator.bookings(generator.unit(i))) {
+                if (booking.status() == BookingStatus.PENDING_PAYMENT) {
+                    pending++;
+                    assertFalse(booking.createdAt().isAfter(now));
+                    assertTrue(booking.paymentDeadline().isAfter(now), booking + " has already expired at " + now);
+                    assertTrue(booking.checkIn().isAfter(now));
+                }
+            }
+        }
+        assertTrue(pending > 0, "Expected some pending bookings");
+    }
+
+    @Test
+    void bookings_ArePricedUnderRatePlan() {
+        SyntheticDataGenerator generator = generator(42);
+
+        for (int i = 0; i < UNITS; i++) {
+            SyntheticUnit unit = generator.unit(i);
+            for (SyntheticBooking booking : generator.bookings(unit)) {
+                assertEquals(priceCalculator.stayPrice(unit.basePrice(), rateCalendar.stayRate(booking.checkIn(), booking.checkOut())),
+                        booking.totalPrice());
+            }
+        }
+    }
+
+    @Test
+    void events_FallIntoPreparedPartitions() {
+        SyntheticDataGenerator generator = generator(42);
+        LocalDateTime earliest = generator.earliestEventTime();
+
+        for (int i = 0; i < UNITS; i++) {
+            for (SyntheticBooking booking : generator.bookings(generator.unit(i))) {
+                assertFalse(booking.createdAt().isBefore(earliest), booking + " is created before " + earliest);
+            }
+        }
+    }
+
+    @Test
+    void ids_AreUniqueTimeOrderedUuids() {
+        SyntheticDataGenerator generator = generator(42);
+
+        Set<UUID> ids = new HashSet<>();
+        for (int i = 0; i < UNITS; i++) {
+            SyntheticUnit unit = generator.unit(i);
+            assertTrue(ids.add(unit.id()));
+            assertEquals(7, unit.id().version());
+            assertEquals(2, unit.id().variant());
+            for (SyntheticBooking booking : generator.bookings(unit)) {
+                assertTrue(ids.add(booking.id()));
+                assertTrue(ids.add(booking.paymentId()));
+                assertEquals(7, booking.id().version());
+            }
+        }
+    }
+
+    private SyntheticDataGenerator generator(long seed) {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(null, null, priceCalculator, rateCalendar);
+        ReflectionTestUtils.setField(generator, "seed", seed);
+        ReflectionTestUtils.setField(generator, "numberOfUsers", 1_000);
+        ReflectionTestUtils.setField(generator, "bookingsPerUnit", 20);
+        generator.startAt(ANCHOR);
+        return generator;
+    }
+
+    private static RatePlanProperties ratePlan() {
+        RatePlanProperties properties = new RatePlanProperties();
+        properties.setWeekendPercent(20);
+        RatePlanProperties.LengthOfStay week = new RatePlanProperties.LengthOfStay();
+        week.setMinNights(7);
+        week.setDiscountPercent(10);
+        properties.getLengthOfStay().add(week);
+        return properties;
+    }
+}
@@ -0,0 +1,138 @@
+package org.spribe.booking.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class WorkloadRoutingDataSourceTest {
+
+    private final Map<Workload, Connection> connections = new EnumMap<>(Workload.class);
+    private WorkloadRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        Map<Workload, DataSource> pools = new EnumMap<>(Workload.class);
+        for (Workload workload : Workload.values()) {
+            Connection connection = mock(Connection.class);
+            DataSource pool = mock(DataSource.class);
+            when(pool.getConnection()).thenReturn(connection);
+            connections.put(workload, connection);
+            pools.put(workload, pool);
+        }
+        dataSource = new WorkloadRoutingDataSource(pools);
+        dataSource.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        WorkloadContext.restore(null);
+    }
+
+    @Test
+    void getConnection_WithoutWorkload_UsesInteractivePool() throws SQLException {
+        assertSame(connections.get(Workload.INTERACTIVE), dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_UsesPoolOfBoundWorkload() throws SQLException {
+        Workload previous = WorkloadContext.bind(Workload.BULK);
+
+        assertSame(connections.get(Workload.BULK), dataSource.getConnection());
+
+        WorkloadContext.restore(previous);
+        assertSame(connections.get(Workload.INTERACTIVE), dataSource.getConnection());
+    }
+
+    @Test
+    void aspect_BindsWorkloadForScheduledAndAnnotatedMethods() {
+        Jobs jobs = bean(Jobs.class);
+
+        assertEquals(Workload.BACKGROUND, jobs.scheduled());
+        assertEquals(Workload.BULK, jobs.bulk());
+        assertEquals(Workload.INTERACTIVE, jobs.plain());
+        assertEquals(Workload.INTERACTIVE, WorkloadContext.current());
+    }
+
+    @Test
+    void aspect_AppliesBeanLevelWorkloadToScheduledMethods() {
+        BulkJobs jobs = bean(BulkJobs.class);
+
+        assertEquals(Workload.BULK, jobs.scheduled());
+    }
+
+    @Test
+    void aspect_RestoresOuterWorkload() {
+        Jobs jobs = bean(Jobs.class);
+        Workload previous = WorkloadContext.bind(Workload.BACKGROUND);
+
+        assertEquals(Workload.BULK, jobs.bulk());
+        assertEquals(Workload.BACKGROUND, WorkloadContext.current());
+
+        WorkloadContext.restore(previous);
+    }
+
+    private <T> T bean(Class<T> type) {
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext(AspectConfig.class)) {
+            return context.getBean(type);
+        }
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy(proxyTargetClass = true)
+    static class AspectConfig {
+        @Bean
+        WorkloadAspect workloadAspect() {
+            return new WorkloadAspect();
+        }
+
+        @Bean
+        Jobs jobs() {
+            return new Jobs();
+        }
+
+        @Bean
+        BulkJobs bulkJobs() {
+            return new BulkJobs();
+        }
+    }
+
+    static class Jobs {
+        @Scheduled(fixedRate = 60000)
+        public Workload scheduled() {
+            return WorkloadContext.current();
+        }
+
+        @UseWorkload(Workload.BULK)
+        public Workload bulk() {
+            return WorkloadContext.current();
+        }
+
+        public Workload plain() {
+            return WorkloadContext.current();
+        }
+    }
+
+    @UseWorkload(Workload.BULK)
+    static class BulkJobs {
+        @Scheduled(fixedRate = 60000)
+        public Workload scheduled() {
+            return WorkloadContext.current();
+        }
+    }
+}
@@ -14,6 +14,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -21,10 +22,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -163,6 +167,25 @@ class BookingControllerTest {
                 .andExpect(status().is5xxServerError());
     }
 
+    @Test
+    void getBooking_MatchingIfNoneMatch_ReturnsNotModifiedWithoutLoadingBooking() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+        mockBookingResponse.setUpdatedAt(updatedAt);
+        when(bookingService.findBookingUpdatedAt(testBookingId)).thenReturn(Optional.of(updatedAt));
+        when(bookingService.getBooking(testBookingId)).thenReturn(mockBookingResponse);
+
+        String etag = mockMvc.perform(get("/api/v1/bookings/{id}", testBookingId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/v1/bookings/{id}", testBookingId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(bookingService, times(1)).getBooking(testBookingId);
+    }
+
     @Test
     void getBooking_NonExistentBooking_ReturnsNotFound() throws Exception {
         when(bookingService.getBooking(any(UUID.class)))
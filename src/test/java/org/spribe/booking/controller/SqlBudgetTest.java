@@ -0,0 +1,156 @@
+package org.spribe.booking.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.SqlBudgeted;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.dto.BookingRequest;
+import org.spribe.booking.dto.PaymentRequest;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.model.Unit;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.PaymentMethod;
+import org.spribe.booking.repository.BookingRepository;
+import org.spribe.booking.repository.PaymentRepository;
+import org.spribe.booking.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Drives the booking and payment flows through the real services and database. Each request is
+ * held to the SQL budget of its endpoint, see {@link org.spribe.booking.config.SqlBudgets}; the
+ * statements of every request end up in {@code build/reports/sql-budgets/SqlBudgetTest.txt}.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+@SqlBudgeted
+class SqlBudgetTest {
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final List<UUID> unitIds = new ArrayList<>();
+    private final List<UUID> bookingIds = new ArrayList<>();
+    private final List<UUID> paymentIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllById(paymentIds);
+        bookingRepository.deleteAllById(bookingIds);
+        unitRepository.deleteAllById(unitIds);
+    }
+
+    @Test
+    void bookAndPay_StaysWithinBudgets() throws Exception {
+        UUID bookingId = createBooking(saveUnit());
+
+        mockMvc.perform(get("/api/v1/bookings/{id}", bookingId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/bookings/user").header("X-User-Id", USER_ID))
+                .andExpect(status().isOk());
+
+        PaymentRequest payment = new PaymentRequest();
+        payment.setBookingId(bookingId);
+        payment.setAmount(new BigDecimal("115.00"));
+        payment.setPaymentMethod(PaymentMethod.CREDIT_CARD);
+        UUID paymentId = UUID.fromString(read(json(post("/api/v1/payments"), payment)).get("id").asText());
+        paymentIds.add(paymentId);
+
+        mockMvc.perform(post("/api/v1/payments/{id}/process", paymentId).header("X-User-Id", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+        mockMvc.perform(get("/api/v1/payments/booking/{bookingId}", bookingId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void bookAndCancel_StaysWithinBudgets() throws Exception {
+        UUID bookingId = createBooking(saveUnit());
+
+        mockMvc.perform(post("/api/v1/bookings/{id}/cancel", bookingId).header("X-User-Id", USER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    void searchUnits_StaysWithinBudget() throws Exception {
+        saveUnit();
+
+        UnitSearchRequest search = new UnitSearchRequest();
+        search.setType(AccommodationType.FLAT);
+        search.setSize(20);
+        json(post("/api/v1/units/search"), search);
+    }
+
+    private UUID createBooking(Unit unit) throws Exception {
+        BookingRequest request = new BookingRequest();
+        request.setUnitId(unit.getId());
+        request.setCheckInDate(LocalDateTime.now().plusDays(1));
+        request.setCheckOutDate(LocalDateTime.now().plusDays(3));
+        UUID bookingId = UUID.fromString(read(json(post("/api/v1/bookings"), request)).get("id").asText());
+        bookingIds.add(bookingId);
+        return bookingId;
+    }
+
+    private String json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return mockMvc.perform(request
+                        .header("X-User-Id", USER_ID)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private JsonNode read(String json) throws Exception {
+        return objectMapper.readTree(json);
+    }
+
+    private Unit saveUnit() {
+        Unit unit = unitRepository.save(Unit.builder()
+                .numberOfRooms(2)
+                .type(AccommodationType.FLAT)
+                .floor(1)
+                .basePrice(new BigDecimal("100.00"))
+                .totalPrice(new BigDecimal("115.00"))
+                .description("SQL budget test unit")
+                .available(true)
+                .build());
+        unitIds.add(unit.getId());
+        return unit;
+    }
+}
@@ -13,14 +13,19 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -141,6 +146,45 @@ class UnitControllerTest {
                 .andExpect(status().is5xxServerError());
     }
 
+    @Test
+    void getUnit_ReturnsETagFromUpdatedAt() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+        mockUnitResponse.setUpdatedAt(updatedAt);
+        when(unitService.getUnit(testUnitId)).thenReturn(mockUnitResponse);
+
+        mockMvc.perform(get("/api/v1/units/{id}", testUnitId))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(testUnitId, updatedAt)));
+    }
+
+    @Test
+    void getUnit_MatchingIfNoneMatch_ReturnsNotModifiedWithoutLoadingUnit() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+        when(unitService.findUnitUpdatedAt(testUnitId)).thenReturn(Optional.of(updatedAt));
+
+        mockMvc.perform(get("/api/v1/units/{id}", testUnitId)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETags.of(testUnitId, updatedAt)))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(testUnitId, updatedAt)))
+                .andExpect(content().string(""));
+
+        verify(unitService, never()).getUnit(any(UUID.class));
+    }
+
+    @Test
+    void getUnit_StaleIfNoneMatch_ReturnsUnit() throws Exception {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 3, 1, 12, 30, 15, 123_456_000);
+        mockUnitResponse.setUpdatedAt(updatedAt);
+        when(unitService.findUnitUpdatedAt(testUnitId)).thenReturn(Optional.of(updatedAt));
+        when(unitService.getUnit(testUnitId)).thenReturn(mockUnitResponse);
+
+        mockMvc.perform(get("/api/v1/units/{id}", testUnitId)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETags.of(testUnitId, updatedAt.minusSeconds(1))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETags.of(testUnitId, updatedAt)))
+                .andExpect(jsonPath("$.id").value(testUnitId.toString()));
+    }
+
     @Test
     void getUnit_NonExistentUnit_ReturnsNotFound() throws Exception {
         when(unitService.getUnit(any(UUID.class)))
@@ -0,0 +1,74 @@
+package org.spribe.booking.model.generator;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void nextUuid_SetsVersionAndVariant() {
+        UUID uuid = UuidV7Generator.nextUuid();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    void nextUuid_EncodesClockMillis() {
+        long now = 1_710_000_000_000L;
+        AtomicLong state = new AtomicLong();
+
+        UUID first = UuidV7Generator.nextUuid(state, () -> now);
+        UUID second = UuidV7Generator.nextUuid(state, () -> now);
+        UUID later = UuidV7Generator.nextUuid(state, () -> now + 5);
+
+        assertEquals(now, first.getMostSignificantBits() >>> 16);
+        // Same millisecond: the sequence advances, the timestamp does not
+        assertEquals(now, second.getMostSignificantBits() >>> 16);
+        assertEquals(now + 5, later.getMostSignificantBits() >>> 16);
+    }
+
+    @Test
+    void nextUuid_StaysMonotonicWhenClockStepsBack() {
+        AtomicLong state = new AtomicLong();
+
+        UUID first = UuidV7Generator.nextUuid(state, () -> 1_710_000_000_000L);
+        UUID second = UuidV7Generator.nextUuid(state, () -> 1_709_999_999_000L);
+
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test
+    void nextUuid_IsMonotonicWithinSameMillisecond() {
+        List<UUID> generated = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            generated.add(UuidV7Generator.nextUuid());
+        }
+
+        List<String> asText = generated.stream().map(UUID::toString).toList();
+        List<String> sorted = new ArrayList<>(asText);
+        Collections.sort(sorted);
+
+        assertEquals(sorted, asText);
+    }
+
+    @Test
+    void nextUuid_IsUniqueAcrossThreads() {
+        Set<UUID> generated = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 100_000).parallel()
+                .forEach(i -> generated.add(UuidV7Generator.nextUuid()));
+
+        assertEquals(100_000, generated.size());
+    }
+}
@@ -0,0 +1,226 @@
+package org.spribe.booking.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.spribe.booking.config.SqlRecordingConfig;
+import org.spribe.booking.config.SqlStatementRecorder;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Seeds a dedicated database with production-like volumes, calls every custom repository query
+ * and checks that each statement Hibernate actually sent is planned without a sequential scan.
+ * The statements are captured with {@link SqlStatementRecorder} and explained with the values
+ * that were bound to them.
+ * <p>
+ * A few queries read most of a table by design, e.g. the unit search over available units; the
+ * tables they may scan are listed with them. Writes run in a transaction that is rolled back.
+ */
+// The archival job would otherwise move seeded bookings while the plans are checked
+@SpringBootTest(properties = "booking.archival.enabled=false")
+@Import(SqlRecordingConfig.class)
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+    private static final int USERS = Integer.getInteger("explain.users", 20_000);
+    private static final int UNITS = Integer.getInteger("explain.units", 20_000);
+    private static final int BOOKINGS = Integer.getInteger("explain.bookings", 200_000);
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Not recorded and without a statement timeout, for seeding and EXPLAIN
+    @Autowired
+    @Qualifier("bulkDataSource")
+    private HikariDataSource bulkDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+    private UUID userId;
+    private UUID unitId;
+    private UUID bookingId;
+    private UUID paymentId;
+    private String email;
+
+    @TestConfiguration
+    static class ExplainContainers {
+        private static final PostgreSQLContainer<?> postgresContainer = new PostgreSQLContainer<>(DockerImageName.parse("postgres:16-alpine"))
+                .withDatabaseName("booking_explain")
+                .withUsername("booking_user")
+                .withPassword("pass");
+
+        private static final GenericContainer<?> redisContainer = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                .withExposedPorts(6379);
+
+        @Bean
+        @ServiceConnection(name = "postgres")
+        public PostgreSQLContainer<?> postgresContainer() {
+            return postgresContainer;
+        }
+
+        @Bean
+        @ServiceConnection(name = "redis")
+        public GenericContainer<?> redisContainer() {
+            return redisContainer;
+        }
+    }
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate = new JdbcTemplate(bulkDataSource);
+
+        jdbcTemplate.update("INSERT INTO users (id, first_name, last_name, email, role, active, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 'First' || g, 'Last' || g, 'seed' || g || '@example.com', 'USER', true, now(), now() " +
+                "FROM generate_series(1, ?) g", USERS);
+
+        jdbcTemplate.update("INSERT INTO units (id, number_of_rooms, type, floor, base_price, total_price, description, available, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), 1 + g % 5, (ARRAY['HOME', 'FLAT', 'APARTMENTS'])[1 + g % 3], g % 20, " +
+                "50 + g % 450, (50 + g % 450) * 1.15, 'Seeded unit ' || g, g % 10 <> 0, now(), now() " +
+                "FROM generate_series(1, ?) g", UNITS);
+
+        // Mostly historical bookings, last touched when they ended, and a few active ones
+        jdbcTemplate.update("WITH u AS (SELECT array_agg(id) AS ids FROM units), us AS (SELECT array_agg(id) AS ids FROM users), " +
+                "seeded AS (SELECT g, CASE WHEN g % 100 < 80 THEN 'COMPLETED' WHEN g % 100 < 92 THEN 'CANCELLED' " +
+                "WHEN g % 100 < 97 THEN 'CONFIRMED' ELSE 'PENDING_PAYMENT' END AS status FROM generate_series(1, ?) g), " +
+                "dated AS (SELECT seeded.*, CASE WHEN status IN ('CONFIRMED', 'PENDING_PAYMENT') " +
+                "THEN now() + (g % 300) * interval '1 day' ELSE now() - (g % 700 + 10) * interval '1 day' END AS check_in FROM seeded) " +
+                "INSERT INTO bookings (id, unit_id, user_id, check_in_date, check_out_date, total_price, status, payment_deadline, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), u.ids[1 + dated.g % array_length(u.ids, 1)], us.ids[1 + (dated.g * 7) % array_length(us.ids, 1)], " +
+                "check_in, check_in + interval '3 days', 230.00, status, " +
+                "CASE WHEN status = 'PENDING_PAYMENT' THEN now() + (dated.g % 15 + 1) * interval '1 minute' ELSE check_in END, " +
+                "check_in - interval '30 days', CASE WHEN status IN ('CONFIRMED', 'PENDING_PAYMENT') THEN now() ELSE check_in + interval '3 days' END " +
+                "FROM dated, u, us", BOOKINGS);
+
+        jdbcTemplate.update("INSERT INTO payments (id, booking_id, amount, status, payment_method, transaction_id, created_at, updated_at) " +
+                "SELECT gen_random_uuid(), id, total_price, CASE status WHEN 'PENDING_PAYMENT' THEN 'PENDING' WHEN 'CANCELLED' THEN 'CANCELLED' ELSE 'COMPLETED' END, " +
+                "'CREDIT_CARD', NULL, created_at, updated_at FROM bookings");
+
+        jdbcTemplate.execute("ANALYZE");
+
+        userId = jdbcTemplate.queryForObject("SELECT user_id FROM bookings LIMIT 1", UUID.class);
+        unitId = jdbcTemplate.queryForObject("SELECT unit_id FROM bookings WHERE status = 'CONFIRMED' LIMIT 1", UUID.class);
+        bookingId = jdbcTemplate.queryForObject("SELECT booking_id FROM payments WHERE status = 'PENDING' LIMIT 1", UUID.class);
+        paymentId = jdbcTemplate.queryForObject("SELECT id FROM payments WHERE booking_id = ?", UUID.class, bookingId);
+        email = jdbcTemplate.queryForObject("SELECT email FROM users OFFSET 100 LIMIT 1", String.class);
+    }
+
+    Stream<Arguments> repositoryQueries() {
+        LocalDateTime now = LocalDateTime.now();
+        return Stream.of(
+                query("BookingRepository.findOverlappingBookings", () -> bookingRepository.findOverlappingBookings(unitId,
+                        List.of(BookingStatus.CONFIRMED, BookingStatus.PENDING_PAYMENT), now.plusDays(20), now.plusDays(30))),
+                query("BookingRepository.findCompletedBookings", () -> bookingRepository.findCompletedBookings(BookingStatus.CONFIRMED, now)),
+                query("BookingRepository.findExpiredBookings", () -> bookingRepository.findExpiredBookings(BookingStatus.PENDING_PAYMENT, now)),
+                // A page smaller than the user's bookings, so the count query runs too
+                query("BookingRepository.findByUserId", () -> bookingRepository.findByUserId(userId, PageRequest.of(0, 5))),
+                query("BookingRepository.findArchivableBookingIds", () -> bookingRepository.findArchivableBookingIds(now.minusDays(30), 500)),
+                query("BookingRepository.findUpdatedAtById", () -> bookingRepository.findUpdatedAtById(bookingId)),
+                query("BookingRepository.countByStatus", () -> bookingRepository.countByStatus(BookingStatus.PENDING_PAYMENT)),
+                query("PaymentRepository.findByBookingId", () -> paymentRepository.findByBookingId(bookingId)),
+                query("PaymentRepository.findWithBookingById", () -> paymentRepository.findWithBookingById(paymentId)),
+                query("PaymentRepository.findByBookingIdAndStatus", () -> paymentRepository.findByBookingIdAndStatus(bookingId, PaymentStatus.PENDING)),
+                query("PaymentRepository.findUpdatedAtById", () -> paymentRepository.findUpdatedAtById(paymentId)),
+                query("UserRepository.findByEmail", () -> userRepository.findByEmail(email)),
+                query("UserRepository.existsByEmail", () -> userRepository.existsByEmail(email)),
+                // Pages through all users and counts them
+                query("UserRepository.findAllResponses", () -> userRepository.findAllResponses(PageRequest.of(0, 20)), "users"),
+                query("ArchivedBookingRepository.copyFromBookings", () -> archivedBookingRepository.copyFromBookings(List.of(bookingId))),
+                query("ArchivedBookingRepository.findUpdatedAtById", () -> archivedBookingRepository.findUpdatedAtById(bookingId)),
+                query("ArchivedPaymentRepository.findByBookingId", () -> archivedPaymentRepository.findByBookingId(bookingId)),
+                query("ArchivedPaymentRepository.moveFromPayments", () -> archivedPaymentRepository.moveFromPayments(List.of(bookingId))),
+                query("ArchivedPaymentRepository.findUpdatedAtById", () -> archivedPaymentRepository.findUpdatedAtById(paymentId)),
+                // Pages through the available units; the availability check must still probe bookings by index
+                query("UnitRepository.searchUnits", () -> unitRepository.searchUnits(2, AccommodationType.FLAT, null, 50.0, 400.0,
+                        now.plusDays(20), now.plusDays(25), PageRequest.of(0, 10)), "units"),
+                query("UnitRepository.countAvailableUnits", () -> unitRepository.countAvailableUnits(), "units"),
+                query("UnitRepository.findUpdatedAtById", () -> unitRepository.findUpdatedAtById(unitId))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("repositoryQueries")
+    void repositoryQuery_DoesNotUseSequentialScan(String query, Runnable operation, Set<String> scannedByDesign) throws Exception {
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.record(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    operation.run();
+                    status.setRollbackOnly();
+                }));
+        assertFalse(recording.statements().isEmpty(), query + " executed no statements");
+
+        for (SqlStatementRecorder.Statement statement : recording.statements()) {
+            Object[] values = statement.values().isEmpty() ? new Object[0] : statement.values().get(0).toArray();
+            String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + statement.sql(), String.class, values);
+            JsonNode root = objectMapper.readTree(plan).get(0).get("Plan");
+
+            List<String> sequentialScans = new ArrayList<>();
+            collectSequentialScans(root, sequentialScans);
+            sequentialScans.removeAll(scannedByDesign);
+
+            assertTrue(sequentialScans.isEmpty(), query + " scans " + sequentialScans + " sequentially in\n"
+                    + statement.sql() + "\n" + root.toPrettyString());
+        }
+    }
+
+    private static Arguments query(String name, Runnable operation, String... scannedByDesign) {
+        return Arguments.of(name, operation, Set.of(scannedByDesign));
+    }
+
+    private void collectSequentialScans(JsonNode node, List<String> sequentialScans) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            sequentialScans.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSequentialScans(child, sequentialScans);
+        }
+    }
+}
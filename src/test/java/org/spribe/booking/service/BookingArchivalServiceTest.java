@@ -0,0 +1,151 @@
+package org.spribe.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.model.Booking;
+import org.spribe.booking.model.Payment;
+import org.spribe.booking.model.Unit;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.model.enumeration.PaymentMethod;
+import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.spribe.booking.repository.ArchivedBookingRepository;
+import org.spribe.booking.repository.ArchivedPaymentRepository;
+import org.spribe.booking.repository.BookingRepository;
+import org.spribe.booking.repository.PaymentRepository;
+import org.spribe.booking.repository.UnitRepository;
+import org.spribe.booking.service.impl.BookingArchivalService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+class BookingArchivalServiceTest {
+    private static final UUID SAMPLE_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Autowired
+    private BookingArchivalService archivalService;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+
+    @Autowired
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
+    private Unit unit;
+    private final List<UUID> bookingIds = new ArrayList<>();
+    private final List<UUID> paymentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        unit = unitRepository.save(Unit.builder()
+                .numberOfRooms(2)
+                .type(AccommodationType.FLAT)
+                .floor(1)
+                .basePrice(new BigDecimal("100.00"))
+                .totalPrice(new BigDecimal("115.00"))
+                .description("Archival test unit")
+                .available(true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        archivedPaymentRepository.deleteAllById(paymentIds);
+        archivedBookingRepository.deleteAllById(bookingIds);
+        paymentRepository.deleteAllById(paymentIds);
+        bookingRepository.deleteAllById(bookingIds);
+        unitRepository.delete(unit);
+    }
+
+    @Test
+    void archiveBatch_MovesTerminalBookingsWithPayments() {
+        Booking completed = saveBooking(BookingStatus.COMPLETED);
+        Payment payment = savePayment(completed);
+        Booking confirmed = saveBooking(BookingStatus.CONFIRMED);
+
+        int archived = archivalService.archiveBatch(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(1, archived);
+        assertFalse(bookingRepository.existsById(completed.getId()));
+        assertFalse(paymentRepository.existsById(payment.getId()));
+        assertTrue(archivedBookingRepository.existsById(completed.getId()));
+        assertTrue(archivedPaymentRepository.existsById(payment.getId()));
+        assertTrue(bookingRepository.existsById(confirmed.getId()));
+    }
+
+    @Test
+    void archiveBatch_KeepsBookingsNewerThanHorizon() {
+        Booking cancelled = saveBooking(BookingStatus.CANCELLED);
+
+        int archived = archivalService.archiveBatch(LocalDateTime.now().minusDays(1));
+
+        assertEquals(0, archived);
+        assertTrue(bookingRepository.existsById(cancelled.getId()));
+    }
+
+    @Test
+    void readPaths_FallBackToArchive() {
+        Booking completed = saveBooking(BookingStatus.COMPLETED);
+        Payment payment = savePayment(completed);
+
+        archivalService.archiveBatch(LocalDateTime.now().plusMinutes(1));
+
+        assertEquals(BookingStatus.COMPLETED, bookingService.getBooking(completed.getId()).getStatus());
+        assertEquals(unit.getId(), bookingService.getBooking(completed.getId()).getUnitId());
+        assertEquals(payment.getId(), paymentService.getPayment(payment.getId()).getId());
+        assertEquals(1, paymentService.getPaymentsByBooking(completed.getId()).size());
+    }
+
+    private Booking saveBooking(BookingStatus status) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .unit(unit)
+                .userId(SAMPLE_USER_ID)
+                .checkInDate(LocalDateTime.now().minusDays(5))
+                .checkOutDate(LocalDateTime.now().minusDays(3))
+                .totalPrice(new BigDecimal("230.00"))
+                .status(status)
+                .build());
+        bookingIds.add(booking.getId());
+        return booking;
+    }
+
+    private Payment savePayment(Booking booking) {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .booking(booking)
+                .amount(booking.getTotalPrice())
+                .status(PaymentStatus.COMPLETED)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build());
+        paymentIds.add(payment.getId());
+        return payment;
+    }
+}
@@ -1,6 +1,8 @@
 package org.spribe.booking.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.spribe.booking.config.TestContainersConfig;
@@ -11,6 +13,7 @@ import org.spribe.booking.model.*;
 import org.spribe.booking.model.enumeration.AccommodationType;
 import org.spribe.booking.model.enumeration.BookingStatus;
 import org.spribe.booking.model.enumeration.EventType;
+import org.spribe.booking.repository.ArchivedBookingRepository;
 import org.spribe.booking.repository.BookingRepository;
 import org.spribe.booking.repository.EventRepository;
 import org.spribe.booking.repository.UnitRepository;
@@ -22,6 +25,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -54,9 +58,15 @@ class BookingServiceTest {
     @MockBean
     private EventRepository eventRepository;
 
+    @MockBean
+    private ArchivedBookingRepository archivedBookingRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Value("${booking.payment-timeout:15}")
     private int paymentTimeout;
 
@@ -129,7 +139,8 @@ class BookingServiceTest {
         assertEquals(new BigDecimal("345.00"), response.getTotalPrice());
 
         verify(unitRepository).save(argThat(unit -> !unit.isAvailable()));
-        verify(bookingRepository).save(any(Booking.class));
+        // Two nights at the nightly price of 115.00
+        verify(bookingRepository).save(argThat(booking -> new BigDecimal("230.00").equals(booking.getTotalPrice())));
         verify(eventRepository).save(argThat(event -> 
             event.getType() == EventType.BOOKING_CREATED &&
             event.getEntityId().equals(testBookingId) &&
@@ -155,9 +166,15 @@ class BookingServiceTest {
                 any(LocalDateTime.class),
                 any(LocalDateTime.class)))
                 .thenReturn(Collections.singletonList(mockBooking));
+        double rejectedBefore = meterRegistry.counter("booking.bookings", "outcome", "rejected_overlap").count();
 
         assertThrows(RuntimeException.class, 
             () -> bookingService.createBooking(validBookingRequest, testUserId));
+
+        assertEquals(rejectedBefore + 1, meterRegistry.counter("booking.bookings", "outcome", "rejected_overlap").count());
+        assertTrue(meterRegistry.find("booking.service.invocations")
+                .tags("service", "BookingServiceImpl", "method", "createBooking", "exception", "RuntimeException")
+                .timer().count() > 0);
     }
 
     @Test
@@ -172,6 +189,35 @@ class BookingServiceTest {
         assertEquals(testUserId, response.getUserId());
     }
 
+    @Test
+    void getBooking_ArchivedBooking_ReturnsArchivedBooking() {
+        ArchivedBooking archivedBooking = ArchivedBooking.builder()
+                .id(testBookingId)
+                .unitId(testUnitId)
+                .userId(testUserId)
+                .status(BookingStatus.COMPLETED)
+                .totalPrice(new BigDecimal("345.00"))
+                .archivedAt(now)
+                .build();
+        when(bookingRepository.findById(testBookingId)).thenReturn(Optional.empty());
+        when(archivedBookingRepository.findById(testBookingId)).thenReturn(Optional.of(archivedBooking));
+
+        BookingResponse response = bookingService.getBooking(testBookingId);
+
+        assertEquals(testBookingId, response.getId());
+        assertEquals(testUnitId, response.getUnitId());
+        assertEquals(BookingStatus.COMPLETED, response.getStatus());
+    }
+
+    @Test
+    void findBookingUpdatedAt_ArchivedBooking_ReturnsArchivedTimestamp() {
+        when(bookingRepository.findUpdatedAtById(testBookingId)).thenReturn(Optional.empty());
+        when(archivedBookingRepository.findUpdatedAtById(testBookingId)).thenReturn(Optional.of(now));
+
+        assertEquals(Optional.of(now), bookingService.findBookingUpdatedAt(testBookingId));
+        verify(bookingRepository, never()).findById(any(UUID.class));
+    }
+
     @Test
     void getBooking_NonExistentBooking_ThrowsException() {
         when(bookingRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
@@ -249,9 +295,43 @@ class BookingServiceTest {
             () -> bookingService.cancelBooking(testBookingId, testUserId));
     }
 
+    @Test
+    void cancelBooking_OptimisticLockConflict_RetriesWithFreshState() {
+        when(bookingRepository.findById(testBookingId)).thenAnswer(invocation -> Optional.of(pendingBooking()));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, testBookingId))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(unitRepository.save(any(Unit.class))).thenReturn(mockUnit);
+        when(eventRepository.save(any(Event.class))).thenReturn(new Event());
+
+        BookingResponse response = bookingService.cancelBooking(testBookingId, testUserId);
+
+        assertEquals(BookingStatus.CANCELLED, response.getStatus());
+        verify(bookingRepository, times(2)).findById(testBookingId);
+        verify(eventRepository, times(1)).save(any(Event.class));
+    }
+
+    @Test
+    void cancelBooking_PersistentConflict_GivesUpAfterMaxAttempts() {
+        double exhaustedBefore = exhaustedRetries();
+        when(bookingRepository.findById(testBookingId)).thenAnswer(invocation -> Optional.of(pendingBooking()));
+        when(bookingRepository.save(any(Booking.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Booking.class, testBookingId));
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+            () -> bookingService.cancelBooking(testBookingId, testUserId));
+
+        verify(bookingRepository, times(4)).findById(testBookingId);
+        verify(eventRepository, never()).save(any(Event.class));
+        assertEquals(exhaustedBefore + 1, exhaustedRetries());
+    }
+
     @Test
     void getUserBookings_ReturnsPaginatedBookings() {
-        Page<Booking> bookingPage = new PageImpl<>(Collections.singletonList(mockBooking));
+        BookingResponse projected = new BookingResponse(testBookingId, testUnitId, testUserId,
+                mockBooking.getCheckInDate(), mockBooking.getCheckOutDate(), mockBooking.getTotalPrice(),
+                mockBooking.getStatus(), mockBooking.getPaymentDeadline(), now, now);
+        Page<BookingResponse> bookingPage = new PageImpl<>(Collections.singletonList(projected));
         when(bookingRepository.findByUserId(any(UUID.class), any(PageRequest.class)))
                 .thenReturn(bookingPage);
 
@@ -280,6 +360,7 @@ class BookingServiceTest {
 
         bookingService.processExpiredBookings();
 
+        verify(bookingRepository, never()).countByStatus(any());
         verify(bookingRepository).save(argThat(booking -> 
             booking.getStatus() == BookingStatus.CANCELLED));
         verify(unitRepository).save(argThat(Unit::isAvailable));
@@ -290,6 +371,15 @@ class BookingServiceTest {
         ));
     }
 
+    @Test
+    void refreshPendingHolds_UpdatesGauge() {
+        when(bookingRepository.countByStatus(BookingStatus.PENDING_PAYMENT)).thenReturn(7L);
+
+        bookingService.refreshPendingHolds();
+
+        assertEquals(7, meterRegistry.get("booking.bookings.pending").gauge().value());
+    }
+
     @Test
     void processCompletedBookings_CompletedBookings_UpdatesStatusAndUnitAvailability() {
         mockBooking.setStatus(BookingStatus.CONFIRMED);
@@ -358,4 +448,23 @@ class BookingServiceTest {
         verify(eventRepository, times(2)).save(argThat(event -> 
             event.getType() == EventType.BOOKING_COMPLETED));
     }
+
+    private Booking pendingBooking() {
+        return Booking.builder()
+                .id(testBookingId)
+                .unit(mockUnit)
+                .userId(testUserId)
+                .checkInDate(validBookingRequest.getCheckInDate())
+                .checkOutDate(validBookingRequest.getCheckOutDate())
+                .status(BookingStatus.PENDING_PAYMENT)
+                .totalPrice(new BigDecimal("345.00"))
+                .paymentDeadline(now.plusMinutes(paymentTimeout))
+                .build();
+    }
+
+    private double exhaustedRetries() {
+        return meterRegistry.find("booking.retry.exhausted").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,65 @@
+package org.spribe.booking.service;
+
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.service.impl.EventPartitionMaintenanceService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+class EventPartitionMaintenanceServiceTest {
+
+    @Autowired
+    private EventPartitionMaintenanceService maintenanceService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void maintainPartitions_CreatesPartitionsAhead() {
+        maintenanceService.maintainPartitions();
+
+        List<String> partitions = attachedPartitions();
+        YearMonth now = YearMonth.now();
+        for (int i = 0; i <= 3; i++) {
+            assertTrue(partitions.contains(partitionName(now.plusMonths(i))),
+                    "Missing partition for " + now.plusMonths(i));
+        }
+    }
+
+    @Test
+    void maintainPartitions_DetachesExpiredPartition() {
+        jdbcTemplate.queryForObject("SELECT create_events_partition('2000-01-01')", String.class);
+        assertTrue(attachedPartitions().contains("events_p2000_01"));
+
+        maintenanceService.maintainPartitions();
+
+        assertFalse(attachedPartitions().contains("events_p2000_01"));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM pg_class WHERE relname = 'events_p2000_01'", Integer.class));
+
+        jdbcTemplate.execute("DROP TABLE events_p2000_01");
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+                "WHERE i.inhparent = 'events'::regclass",
+                String.class);
+    }
+
+    private String partitionName(YearMonth month) {
+        return "events_p" + month.format(DateTimeFormatter.ofPattern("yyyy_MM"));
+    }
+}
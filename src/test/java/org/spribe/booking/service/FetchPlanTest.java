@@ -0,0 +1,155 @@
+package org.spribe.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.SqlRecordingConfig;
+import org.spribe.booking.config.SqlStatementRecorder;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.model.Booking;
+import org.spribe.booking.model.Payment;
+import org.spribe.booking.model.Unit;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.model.enumeration.PaymentMethod;
+import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.spribe.booking.repository.BookingRepository;
+import org.spribe.booking.repository.PaymentRepository;
+import org.spribe.booking.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the batch and payment paths against the database and fails when one of them issues more
+ * select statements than its fetch plan allows, i.e. when a lazy association is loaded per row.
+ */
+@SpringBootTest
+@Import({TestContainersConfig.class, SqlRecordingConfig.class})
+@ActiveProfiles("test")
+class FetchPlanTest {
+    private static final UUID SAMPLE_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final int ROWS = 5;
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private PaymentService paymentService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    private final List<UUID> unitIds = new ArrayList<>();
+    private final List<UUID> bookingIds = new ArrayList<>();
+    private final List<UUID> paymentIds = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        paymentRepository.deleteAllById(paymentIds);
+        bookingRepository.deleteAllById(bookingIds);
+        unitRepository.deleteAllById(unitIds);
+    }
+
+    @Test
+    void processExpiredBookings_LoadsUnitsWithBookings() {
+        for (int i = 0; i < ROWS; i++) {
+            Booking booking = saveBooking(saveUnit(), BookingStatus.PENDING_PAYMENT);
+            booking.setPaymentDeadline(LocalDateTime.now().minusMinutes(1));
+            bookingRepository.save(booking);
+        }
+
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.record(bookingService::processExpiredBookings);
+
+        recording.assertSelectsAtMost(1, "processExpiredBookings");
+        bookingIds.forEach(id -> assertEquals(BookingStatus.CANCELLED, bookingRepository.findById(id).orElseThrow().getStatus()));
+    }
+
+    @Test
+    void processCompletedBookings_LoadsUnitsWithBookings() {
+        for (int i = 0; i < ROWS; i++) {
+            saveBooking(saveUnit(), BookingStatus.CONFIRMED);
+        }
+
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.record(bookingService::processCompletedBookings);
+
+        recording.assertSelectsAtMost(1, "processCompletedBookings");
+        bookingIds.forEach(id -> assertEquals(BookingStatus.COMPLETED, bookingRepository.findById(id).orElseThrow().getStatus()));
+    }
+
+    @Test
+    void processPayment_LoadsBookingWithPayment() {
+        Booking booking = saveBooking(saveUnit(), BookingStatus.PENDING_PAYMENT);
+        Payment payment = savePayment(booking, PaymentStatus.PENDING);
+
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.record(
+                () -> paymentService.processPayment(payment.getId(), SAMPLE_USER_ID));
+
+        recording.assertSelectsAtMost(1, "processPayment");
+        recording.assertStatementsAtMost(4, "processPayment");
+    }
+
+    @Test
+    void refundPayment_DoesNotLoadBooking() {
+        Booking booking = saveBooking(saveUnit(), BookingStatus.CONFIRMED);
+        Payment payment = savePayment(booking, PaymentStatus.COMPLETED);
+
+        SqlStatementRecorder.Recording recording = SqlStatementRecorder.record(
+                () -> paymentService.refundPayment(payment.getId(), SAMPLE_USER_ID));
+
+        recording.assertSelectsAtMost(1, "refundPayment");
+        recording.assertStatementsAtMost(3, "refundPayment");
+    }
+
+    private Unit saveUnit() {
+        Unit unit = unitRepository.save(Unit.builder()
+                .numberOfRooms(2)
+                .type(AccommodationType.FLAT)
+                .floor(1)
+                .basePrice(new BigDecimal("100.00"))
+                .totalPrice(new BigDecimal("115.00"))
+                .description("Fetch plan test unit")
+                .available(false)
+                .build());
+        unitIds.add(unit.getId());
+        return unit;
+    }
+
+    private Booking saveBooking(Unit unit, BookingStatus status) {
+        Booking booking = bookingRepository.save(Booking.builder()
+                .unit(unit)
+                .userId(SAMPLE_USER_ID)
+                .checkInDate(LocalDateTime.now().minusDays(5))
+                .checkOutDate(LocalDateTime.now().minusDays(3))
+                .totalPrice(new BigDecimal("230.00"))
+                .status(status)
+                .build());
+        bookingIds.add(booking.getId());
+        return booking;
+    }
+
+    private Payment savePayment(Booking booking, PaymentStatus status) {
+        Payment payment = paymentRepository.save(Payment.builder()
+                .booking(booking)
+                .amount(booking.getTotalPrice())
+                .status(status)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .build());
+        paymentIds.add(payment.getId());
+        return payment;
+    }
+}
@@ -0,0 +1,153 @@
+package org.spribe.booking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.model.Booking;
+import org.spribe.booking.model.Event;
+import org.spribe.booking.model.Unit;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.spribe.booking.model.enumeration.BookingStatus;
+import org.spribe.booking.repository.BookingRepository;
+import org.spribe.booking.repository.EventRepository;
+import org.spribe.booking.repository.UnitRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Lets a second transaction update the booking while a service call is between reading and
+ * committing it, so the {@code @Version} check fails on commit as it would under concurrent
+ * requests. Not {@code @Transactional}: every attempt has to commit on its own.
+ */
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+class OptimisticLockingTest {
+    private static final UUID SAMPLE_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private UnitRepository unitRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @SpyBean
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Unit unit;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        unit = unitRepository.save(Unit.builder()
+                .numberOfRooms(2)
+                .type(AccommodationType.FLAT)
+                .floor(1)
+                .basePrice(new BigDecimal("100.00"))
+                .totalPrice(new BigDecimal("115.00"))
+                .description("Optimistic locking test unit")
+                .available(false)
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .unit(unit)
+                .userId(SAMPLE_USER_ID)
+                .checkInDate(LocalDateTime.now().plusDays(1))
+                .checkOutDate(LocalDateTime.now().plusDays(3))
+                .totalPrice(new BigDecimal("230.00"))
+                .status(BookingStatus.PENDING_PAYMENT)
+                .paymentDeadline(LocalDateTime.now().plusMinutes(15))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE entity_id = ?", booking.getId());
+        bookingRepository.deleteById(booking.getId());
+        unitRepository.deleteById(unit.getId());
+    }
+
+    @Test
+    void confirmBooking_ConcurrentUpdate_IsRetriedAgainstFreshState() {
+        double conflictsBefore = conflicts();
+        int[] attempts = {0};
+        // The event is the last write before commit; the first attempt loses the race to a deadline extension
+        doAnswer(invocation -> {
+            if (attempts[0]++ == 0) {
+                CompletableFuture.runAsync(this::extendPaymentDeadline).join();
+            }
+            return invocation.callRealMethod();
+        }).when(eventRepository).save(any(Event.class));
+
+        bookingService.confirmBooking(booking.getId(), SAMPLE_USER_ID);
+
+        Booking confirmed = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.CONFIRMED, confirmed.getStatus());
+        // Created, extended by the concurrent transaction, confirmed by the retried attempt
+        assertEquals(booking.getVersion() + 2, confirmed.getVersion());
+        verify(eventRepository, times(2)).save(any(Event.class));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT count(*) FROM events WHERE entity_id = ?", Integer.class, booking.getId()));
+        assertEquals(conflictsBefore + 1, conflicts());
+    }
+
+    @Test
+    void confirmBooking_ConflictOnEveryAttempt_FailsWithOptimisticLockingFailure() {
+        doAnswer(invocation -> {
+            CompletableFuture.runAsync(this::extendPaymentDeadline).join();
+            return invocation.callRealMethod();
+        }).when(eventRepository).save(any(Event.class));
+
+        // Mapped to 409 by GlobalExceptionHandler
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> bookingService.confirmBooking(booking.getId(), SAMPLE_USER_ID));
+
+        assertEquals(BookingStatus.PENDING_PAYMENT, bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        verify(eventRepository, times(4)).save(any(Event.class));
+    }
+
+    // Runs on another thread, so in a transaction of its own that commits before the caller's
+    private void extendPaymentDeadline() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Booking concurrent = bookingRepository.findById(booking.getId()).orElseThrow();
+            concurrent.setPaymentDeadline(concurrent.getPaymentDeadline().plusMinutes(5));
+            bookingRepository.save(concurrent);
+        });
+    }
+
+    private double conflicts() {
+        return meterRegistry.find("booking.retry.conflicts").counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+}
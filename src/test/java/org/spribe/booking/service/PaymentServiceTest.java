@@ -10,6 +10,7 @@ import org.spribe.booking.model.enumeration.BookingStatus;
 import org.spribe.booking.model.enumeration.EventType;
 import org.spribe.booking.model.enumeration.PaymentMethod;
 import org.spribe.booking.model.enumeration.PaymentStatus;
+import org.spribe.booking.repository.ArchivedPaymentRepository;
 import org.spribe.booking.repository.BookingRepository;
 import org.spribe.booking.repository.EventRepository;
 import org.spribe.booking.repository.PaymentRepository;
@@ -49,6 +50,9 @@ class PaymentServiceTest {
     @MockBean
     private EventRepository eventRepository;
 
+    @MockBean
+    private ArchivedPaymentRepository archivedPaymentRepository;
+
     private PaymentRequest validPaymentRequest;
     private Payment mockPayment;
     private Booking mockBooking;
@@ -147,7 +151,8 @@ class PaymentServiceTest {
 
     @Test
     void getPaymentsByBooking_ReturnsPaymentsList() {
-        List<Payment> payments = Arrays.asList(mockPayment);
+        List<PaymentResponse> payments = Arrays.asList(new PaymentResponse(testPaymentId, testBookingId,
+                mockPayment.getAmount(), mockPayment.getStatus(), mockPayment.getPaymentMethod(), null, now, now));
         when(paymentRepository.findByBookingId(testBookingId)).thenReturn(payments);
 
         List<PaymentResponse> responses = paymentService.getPaymentsByBooking(testBookingId);
@@ -159,6 +164,27 @@ class PaymentServiceTest {
         assertEquals(new BigDecimal("345.00"), responses.get(0).getAmount());
     }
 
+    @Test
+    void getPaymentsByBooking_ArchivedBooking_ReturnsArchivedPayments() {
+        ArchivedPayment archivedPayment = ArchivedPayment.builder()
+                .id(testPaymentId)
+                .bookingId(testBookingId)
+                .amount(new BigDecimal("345.00"))
+                .status(PaymentStatus.COMPLETED)
+                .paymentMethod(PaymentMethod.CREDIT_CARD)
+                .archivedAt(now)
+                .build();
+        when(paymentRepository.findByBookingId(testBookingId)).thenReturn(List.of());
+        when(archivedPaymentRepository.findByBookingId(testBookingId)).thenReturn(List.of(archivedPayment));
+
+        List<PaymentResponse> responses = paymentService.getPaymentsByBooking(testBookingId);
+
+        assertEquals(1, responses.size());
+        assertEquals(testPaymentId, responses.get(0).getId());
+        assertEquals(testBookingId, responses.get(0).getBookingId());
+        assertEquals(PaymentStatus.COMPLETED, responses.get(0).getStatus());
+    }
+
     @Test
     void updatePaymentStatus_ValidRequest_ReturnsUpdatedPayment() {
         when(paymentRepository.findById(testPaymentId)).thenReturn(Optional.of(mockPayment));
@@ -182,7 +208,7 @@ class PaymentServiceTest {
 
     @Test
     void processPayment_ValidRequest_ReturnsProcessedPayment() {
-        when(paymentRepository.findById(testPaymentId)).thenReturn(Optional.of(mockPayment));
+        when(paymentRepository.findWithBookingById(testPaymentId)).thenReturn(Optional.of(mockPayment));
         when(paymentRepository.save(any(Payment.class))).thenReturn(mockPayment);
         when(bookingRepository.save(any(Booking.class))).thenReturn(mockBooking);
         when(eventRepository.save(any(Event.class))).thenReturn(new Event());
@@ -206,7 +232,7 @@ class PaymentServiceTest {
 
     @Test
     void processPayment_NonExistentPayment_ThrowsException() {
-        when(paymentRepository.findById(any(UUID.class))).thenReturn(Optional.empty());
+        when(paymentRepository.findWithBookingById(any(UUID.class))).thenReturn(Optional.empty());
 
         assertThrows(RuntimeException.class, 
             () -> paymentService.processPayment(UUID.randomUUID(), testUserId));
@@ -215,7 +241,7 @@ class PaymentServiceTest {
     @Test
     void processPayment_AlreadyProcessed_ThrowsException() {
         mockPayment.setStatus(PaymentStatus.COMPLETED);
-        when(paymentRepository.findById(testPaymentId)).thenReturn(Optional.of(mockPayment));
+        when(paymentRepository.findWithBookingById(testPaymentId)).thenReturn(Optional.of(mockPayment));
 
         assertThrows(RuntimeException.class, 
             () -> paymentService.processPayment(testPaymentId, testUserId));
@@ -0,0 +1,97 @@
+package org.spribe.booking.service;
+
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.BigRange;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import net.jqwik.api.constraints.Scale;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.StayRate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Checks the {@code long} arithmetic of {@link PriceCalculator} against the same prices computed
+ * with {@link BigDecimal} only.
+ */
+class PriceCalculatorTest {
+
+    @Property
+    void nightlyPrice_MatchesBigDecimal(@ForAll @LongRange(max = 100_000_000_000L) long basePrice,
+                                        @ForAll @IntRange(max = 500) int markupPercent) {
+        assertEquals(reference(PriceCalculator.toDecimal(basePrice), markupPercent, 1),
+                new PriceCalculator(markupPercent).nightlyPrice(PriceCalculator.toDecimal(basePrice)));
+    }
+
+    @Property
+    void stayPrice_MatchesBigDecimal(@ForAll @LongRange(max = 1_000_000_000L) long basePrice,
+                                     @ForAll @IntRange(max = 500) int markupPercent,
+                                     @ForAll @IntRange(min = 1, max = 365) int nights) {
+        PriceCalculator calculator = new PriceCalculator(markupPercent);
+
+        assertEquals(PriceCalculator.toMinorUnits(reference(PriceCalculator.toDecimal(basePrice), markupPercent, nights)),
+                calculator.stayPrice(basePrice, nights));
+    }
+
+    @Property
+    void stayPriceOfDecimal_RoundsToCentsFirst(@ForAll @BigRange(min = "0", max = "100000") @Scale(4) BigDecimal basePrice,
+                                               @ForAll @IntRange(min = 1, max = 60) int nights) {
+        assertEquals(reference(basePrice.setScale(2, RoundingMode.HALF_UP), 15, nights),
+                new PriceCalculator(15).stayPrice(basePrice, StayRate.flat(nights)));
+    }
+
+    @Property
+    void stayPriceOfRate_MatchesBigDecimal(@ForAll @LongRange(max = 1_000_000_000L) long basePrice,
+                                           @ForAll @IntRange(min = 1, max = 365) int nights,
+                                           @ForAll @IntRange(min = 1, max = 2_000_000) int weightPerNight) {
+        StayRate rate = new StayRate(nights, (long) nights * weightPerNight);
+        BigDecimal nightlyPrice = reference(PriceCalculator.toDecimal(basePrice), 15, 1);
+
+        assertEquals(PriceCalculator.toMinorUnits(nightlyPrice
+                        .multiply(BigDecimal.valueOf(rate.weight()))
+                        .divide(BigDecimal.valueOf(StayRate.PAR), 2, RoundingMode.HALF_UP)),
+                new PriceCalculator(15).stayPrice(basePrice, rate));
+    }
+
+    @Property
+    void minorUnits_RoundTrip(@ForAll long minorUnits) {
+        assertEquals(minorUnits, PriceCalculator.toMinorUnits(PriceCalculator.toDecimal(minorUnits)));
+    }
+
+    @Test
+    void nightlyPrice_IsExactWhereDoubleIsNot() {
+        // 1 + 57 / 100.0 is 1.5699999999999998, which priced 0.50 at 0.78 instead of 0.785 rounded up
+        assertEquals(new BigDecimal("0.79"), new PriceCalculator(57).nightlyPrice(new BigDecimal("0.50")));
+
+        PriceCalculator calculator = new PriceCalculator(15);
+        assertEquals(new BigDecimal("115.00"), calculator.nightlyPrice(new BigDecimal("100")));
+        assertEquals(new BigDecimal("230.00"), calculator.stayPrice(new BigDecimal("100.00"), StayRate.flat(2)));
+    }
+
+    @Test
+    void stayWithinOneDay_CountsAsOneNight() {
+        LocalDateTime checkIn = LocalDateTime.of(2025, 7, 1, 9, 0);
+
+        assertEquals(1, PriceCalculator.nights(checkIn, checkIn.plusHours(6)));
+        assertEquals(7, PriceCalculator.nights(checkIn, checkIn.plusDays(7)));
+    }
+
+    @Test
+    void overflow_Throws() {
+        assertThrows(ArithmeticException.class, () -> new PriceCalculator(15).stayPrice(Long.MAX_VALUE / 100, 2));
+    }
+
+    private static BigDecimal reference(BigDecimal basePrice, int markupPercent, int nights) {
+        return basePrice
+                .multiply(BigDecimal.valueOf(100 + markupPercent))
+                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP)
+                .multiply(BigDecimal.valueOf(nights));
+    }
+}
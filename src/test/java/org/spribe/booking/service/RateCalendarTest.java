@@ -0,0 +1,128 @@
+package org.spribe.booking.service;
+
+import net.jqwik.api.ForAll;
+import net.jqwik.api.Property;
+import net.jqwik.api.constraints.IntRange;
+import net.jqwik.api.constraints.LongRange;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.RatePlanProperties;
+import org.spribe.booking.service.impl.PriceCalculator;
+import org.spribe.booking.service.impl.RateCalendar;
+import org.spribe.booking.service.impl.StayRate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.MonthDay;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateCalendarTest {
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 1);
+
+    private final RateCalendar rateCalendar = new RateCalendar(ratePlan(),
+            Clock.fixed(TODAY.atStartOfDay().toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+
+    @Test
+    void nightlyMultiplier_CombinesSeasonAndWeekend() {
+        assertEquals(10_000, rateCalendar.nightlyMultiplier(LocalDate.of(2025, 3, 5)));
+        assertEquals(11_000, rateCalendar.nightlyMultiplier(LocalDate.of(2025, 3, 7)));
+        assertEquals(12_000, rateCalendar.nightlyMultiplier(LocalDate.of(2025, 7, 2)));
+        assertEquals(13_200, rateCalendar.nightlyMultiplier(LocalDate.of(2025, 7, 5)));
+        // The holiday season spans the turn of the year
+        assertEquals(15_000, rateCalendar.nightlyMultiplier(LocalDate.of(2025, 12, 31)));
+        assertEquals(16_500, rateCalendar.nightlyMultiplier(LocalDate.of(2026, 1, 2)));
+        assertEquals(10_000, rateCalendar.nightlyMultiplier(LocalDate.of(2026, 1, 7)));
+    }
+
+    @Test
+    void stayRate_AppliesLongestLengthOfStayDiscountReached() {
+        LocalDateTime monday = LocalDateTime.of(2025, 3, 3, 15, 0);
+        PriceCalculator priceCalculator = new PriceCalculator(15);
+
+        // Five weekday and two weekend nights, 10% off for a week
+        StayRate week = rateCalendar.stayRate(monday, monday.plusDays(7));
+        assertEquals(new StayRate(7, 72_000L * 90), week);
+        assertEquals(new BigDecimal("745.20"), priceCalculator.stayPrice(new BigDecimal("100.00"), week));
+
+        assertEquals(new StayRate(6, 62_000L * 100), rateCalendar.stayRate(monday, monday.plusDays(6)));
+        assertEquals(new StayRate(28, 288_000L * 75), rateCalendar.stayRate(monday, monday.plusDays(28)));
+    }
+
+    @Property
+    void stayRate_MatchesNightByNightRate(@ForAll @IntRange(min = -30, max = 420) int daysFromToday,
+                                          @ForAll @IntRange(min = 1, max = 90) int nights) {
+        LocalDate firstNight = TODAY.plusDays(daysFromToday);
+        long multipliers = 0;
+        for (int i = 0; i < nights; i++) {
+            multipliers += rateCalendar.nightlyMultiplier(firstNight.plusDays(i));
+        }
+        int discount = nights >= 28 ? 25 : nights >= 7 ? 10 : 0;
+
+        assertEquals(new StayRate(nights, multipliers * (100 - discount)),
+                rateCalendar.stayRate(firstNight.atTime(15, 0), firstNight.plusDays(nights).atTime(11, 0)));
+    }
+
+    @Property
+    void nightlyPriceBounds_MatchAverageRate(@ForAll @LongRange(min = 1, max = 10_000_000) long nightlyPrice,
+                                             @ForAll @LongRange(min = 1, max = 10_000_000) long averageRate,
+                                             @ForAll @IntRange(min = 0, max = 400) int daysFromToday,
+                                             @ForAll @IntRange(min = 1, max = 60) int nights) {
+        LocalDateTime checkIn = TODAY.plusDays(daysFromToday).atTime(15, 0);
+        LocalDateTime checkOut = checkIn.plusDays(nights);
+        StayRate rate = rateCalendar.stayRate(checkIn, checkOut);
+        // Average rate over the stay, before rounding, compared with averageRate
+        long stay = nightlyPrice * rate.weight();
+        long bound = averageRate * nights * StayRate.PAR;
+        BigDecimal average = PriceCalculator.toDecimal(averageRate);
+
+        assertEquals(stay >= bound, nightlyPrice >= PriceCalculator.toMinorUnits(rateCalendar.minNightlyPrice(average, checkIn, checkOut)));
+        assertEquals(stay <= bound, nightlyPrice <= PriceCalculator.toMinorUnits(rateCalendar.maxNightlyPrice(average, checkIn, checkOut)));
+    }
+
+    @Test
+    void nightlyPriceBounds_WithoutStay_AreThePriceRange() {
+        BigDecimal price = new BigDecimal("50.00");
+
+        assertEquals(price, rateCalendar.minNightlyPrice(price, null, null));
+        assertEquals(price, rateCalendar.maxNightlyPrice(price, LocalDateTime.of(2025, 3, 3, 15, 0), null));
+    }
+
+    @Test
+    void rateAtOrBelowZero_IsRejected() {
+        RatePlanProperties properties = ratePlan();
+        properties.setWeekendPercent(-100);
+
+        assertThrows(IllegalArgumentException.class, () -> new RateCalendar(properties, Clock.systemUTC()));
+    }
+
+    private static RatePlanProperties ratePlan() {
+        RatePlanProperties properties = new RatePlanProperties();
+        properties.setHorizonDays(365);
+        properties.setWeekendPercent(10);
+        properties.getSeasons().add(season("summer", MonthDay.of(6, 15), MonthDay.of(8, 31), 20));
+        properties.getSeasons().add(season("holidays", MonthDay.of(12, 20), MonthDay.of(1, 5), 50));
+        properties.getLengthOfStay().add(lengthOfStay(7, 10));
+        properties.getLengthOfStay().add(lengthOfStay(28, 25));
+        return properties;
+    }
+
+    private static RatePlanProperties.Season season(String name, MonthDay from, MonthDay to, int percent) {
+        RatePlanProperties.Season season = new RatePlanProperties.Season();
+        season.setName(name);
+        season.setFrom(from);
+        season.setTo(to);
+        season.setPercent(percent);
+        return season;
+    }
+
+    private static RatePlanProperties.LengthOfStay lengthOfStay(int minNights, int discountPercent) {
+        RatePlanProperties.LengthOfStay lengthOfStay = new RatePlanProperties.LengthOfStay();
+        lengthOfStay.setMinNights(minNights);
+        lengthOfStay.setDiscountPercent(discountPercent);
+        return lengthOfStay;
+    }
+}
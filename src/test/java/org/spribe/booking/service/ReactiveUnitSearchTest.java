@@ -0,0 +1,125 @@
+package org.spribe.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.dto.PageResponse;
+import org.spribe.booking.dto.UnitRequest;
+import org.spribe.booking.dto.UnitResponse;
+import org.spribe.booking.dto.UnitSearchRequest;
+import org.spribe.booking.model.enumeration.AccommodationType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+class ReactiveUnitSearchTest {
+    private static final UUID SAMPLE_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+    private static final int FLOOR = 77;
+
+    @Autowired
+    private ReactiveUnitSearchService reactiveUnitSearchService;
+
+    @Autowired
+    private UnitService unitService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM events WHERE entity_id IN (SELECT id FROM units WHERE floor = ?)", FLOOR);
+        jdbcTemplate.update("DELETE FROM bookings WHERE unit_id IN (SELECT id FROM units WHERE floor = ?)", FLOOR);
+        jdbcTemplate.update("DELETE FROM units WHERE floor = ?", FLOOR);
+        redisTemplate.delete(redisTemplate.keys("unitSearch::*"));
+    }
+
+    @Test
+    void searchUnits_PageSizeBelowOne_IsRejectedLikeBlockingSearch() {
+        UnitSearchRequest request = new UnitSearchRequest();
+        request.setSize(0);
+
+        assertThrows(IllegalArgumentException.class, () -> unitService.searchUnits(request));
+        assertThrows(IllegalArgumentException.class, () -> reactiveUnitSearchService.searchUnits(request).block());
+    }
+
+    @Test
+    void searchUnits_ReturnsSameUnitsAsBlockingSearch() {
+        for (int i = 0; i < 5; i++) {
+            insertUnit(i % 2 == 0 ? AccommodationType.FLAT : AccommodationType.HOME, new BigDecimal(100 + i * 10));
+        }
+        UUID booked = insertUnit(AccommodationType.FLAT, new BigDecimal("120"));
+        LocalDateTime checkIn = LocalDateTime.now().plusDays(10);
+        jdbcTemplate.update("INSERT INTO bookings (id, unit_id, user_id, check_in_date, check_out_date, total_price, status, " +
+                "payment_deadline, created_at, updated_at) VALUES (?, ?, ?, ?, ?, 345.00, 'CONFIRMED', now(), now(), now())",
+                UUID.randomUUID(), booked, SAMPLE_USER_ID, checkIn, checkIn.plusDays(3));
+
+        UnitSearchRequest request = new UnitSearchRequest();
+        request.setFloor(FLOOR);
+        request.setMaxPrice(new BigDecimal("150"));
+        request.setCheckInDate(checkIn.plusDays(1));
+        request.setCheckOutDate(checkIn.plusDays(2));
+        request.setSize(20);
+
+        PageResponse<UnitResponse> reactive = reactiveUnitSearchService.searchUnits(request).block();
+        PageResponse<UnitResponse> blocking = unitService.searchUnits(request);
+
+        assertNotNull(reactive);
+        assertEquals(blocking.getTotalElements(), reactive.getTotalElements());
+        assertEquals(ids(blocking), ids(reactive));
+        assertFalse(ids(reactive).contains(booked));
+        assertTrue(reactive.isLast());
+    }
+
+    @Test
+    void searchUnits_ServesCachedPageUntilUnitWrite() {
+        insertUnit(AccommodationType.FLAT, new BigDecimal("100"));
+        UnitSearchRequest request = new UnitSearchRequest();
+        request.setFloor(FLOOR);
+
+        assertEquals(1, reactiveUnitSearchService.searchUnits(request).block().getTotalElements());
+        assertFalse(redisTemplate.keys("unitSearch::*").isEmpty());
+
+        // Bypasses the service, so nothing evicts the cached page
+        insertUnit(AccommodationType.FLAT, new BigDecimal("100"));
+        assertEquals(1, reactiveUnitSearchService.searchUnits(request).block().getTotalElements());
+
+        UnitRequest unit = new UnitRequest();
+        unit.setNumberOfRooms(2);
+        unit.setType(AccommodationType.HOME);
+        unit.setFloor(FLOOR);
+        unit.setBasePrice(new BigDecimal("90.00"));
+        unit.setDescription("Reactive search unit");
+        unitService.createUnit(unit, SAMPLE_USER_ID);
+
+        assertEquals(3, reactiveUnitSearchService.searchUnits(request).block().getTotalElements());
+    }
+
+    private UUID insertUnit(AccommodationType type, BigDecimal totalPrice) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO units (id, number_of_rooms, type, floor, base_price, total_price, description, " +
+                "available, created_at, updated_at) VALUES (?, 2, ?, ?, ?, ?, 'Reactive search unit', true, now(), now())",
+                id, type.name(), FLOOR, totalPrice, totalPrice);
+        return id;
+    }
+
+    private Set<UUID> ids(PageResponse<UnitResponse> page) {
+        return page.getContent().stream().map(UnitResponse::getId).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,103 @@
+package org.spribe.booking.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.spribe.booking.config.TestContainersConfig;
+import org.spribe.booking.dto.UnitImportFormat;
+import org.spribe.booking.dto.UnitImportResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(TestContainersConfig.class)
+@ActiveProfiles("test")
+class UnitImportTest {
+    private static final UUID SAMPLE_USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440000");
+
+    @Autowired
+    private UnitService unitService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM units WHERE description LIKE 'Imported unit%'");
+        jdbcTemplate.update("DELETE FROM events WHERE type = 'UNIT_IMPORTED'");
+    }
+
+    @Test
+    void importUnits_Csv_CopiesRowsWithMarkup() {
+        String csv = """
+                numberOfRooms,type,floor,basePrice,description
+                2,FLAT,3,100.00,"Imported unit, with a comma"
+                1,HOME,0,80.50,"Imported unit with ""quotes""\"
+                4,APARTMENTS,12,250,Imported unit plain
+                """;
+        Objects.requireNonNull(cacheManager.getCache("availableUnits")).put("count", 1L);
+
+        UnitImportResponse response = unitService.importUnits(stream(csv), UnitImportFormat.CSV, SAMPLE_USER_ID);
+
+        assertEquals(3, response.getImportedUnits());
+        assertEquals(3, countImported());
+        assertEquals(new BigDecimal("115.00"), jdbcTemplate.queryForObject(
+                "SELECT total_price FROM units WHERE description = 'Imported unit, with a comma'", BigDecimal.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM units WHERE description = 'Imported unit with \"quotes\"'", Integer.class));
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM events WHERE type = 'UNIT_IMPORTED' AND entity_id = ?", Integer.class, response.getImportId()));
+        assertNull(Objects.requireNonNull(cacheManager.getCache("availableUnits")).get("count"));
+    }
+
+    @Test
+    void importUnits_Ndjson_CopiesRows() {
+        String ndjson = """
+                {"numberOfRooms":3,"type":"FLAT","floor":1,"basePrice":120.00,"description":"Imported unit one"}
+                {"numberOfRooms":2,"type":"HOME","floor":0,"basePrice":90.00,"description":"Imported unit two"}
+                """;
+
+        UnitImportResponse response = unitService.importUnits(stream(ndjson), UnitImportFormat.NDJSON, SAMPLE_USER_ID);
+
+        assertEquals(2, response.getImportedUnits());
+        assertEquals(2, countImported());
+    }
+
+    @Test
+    void importUnits_InvalidRow_RejectsWholeImport() {
+        String csv = """
+                numberOfRooms,type,floor,basePrice,description
+                2,FLAT,3,100.00,Imported unit valid
+                0,FLAT,3,100.00,Imported unit with no rooms
+                """;
+
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> unitService.importUnits(stream(csv), UnitImportFormat.CSV, SAMPLE_USER_ID));
+
+        assertTrue(exception.getMessage().contains("Number of rooms must be at least 1"), exception.getMessage());
+        assertEquals(0, countImported());
+    }
+
+    private int countImported() {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM units WHERE description LIKE 'Imported unit%'", Integer.class);
+    }
+
+    private InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -221,7 +221,7 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(10);
 
-        Page<Unit> unitPage = new PageImpl<>(Collections.singletonList(mockUnit));
+        Page<UnitResponse> unitPage = new PageImpl<>(Collections.singletonList(toResponse(mockUnit)));
         when(unitRepository.searchUnits(
                 eq(request.getNumberOfRooms()),
                 eq(request.getType()),
@@ -261,7 +261,7 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(10);
 
-        Page<Unit> unitPage = new PageImpl<>(Collections.singletonList(mockUnit));
+        Page<UnitResponse> unitPage = new PageImpl<>(Collections.singletonList(toResponse(mockUnit)));
         when(unitRepository.searchUnits(
                 eq(request.getNumberOfRooms()),
                 isNull(),
@@ -288,7 +288,7 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(10);
 
-        Page<Unit> unitPage = new PageImpl<>(Collections.singletonList(mockUnit));
+        Page<UnitResponse> unitPage = new PageImpl<>(Collections.singletonList(toResponse(mockUnit)));
         when(unitRepository.searchUnits(
                 isNull(),
                 isNull(),
@@ -315,7 +315,7 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(10);
 
-        Page<Unit> unitPage = new PageImpl<>(Collections.singletonList(mockUnit));
+        Page<UnitResponse> unitPage = new PageImpl<>(Collections.singletonList(toResponse(mockUnit)));
         when(unitRepository.searchUnits(
                 isNull(),
                 isNull(),
@@ -340,9 +340,9 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(5);
 
-        List<Unit> units = Arrays.asList(
-                mockUnit,
-                Unit.builder()
+        List<UnitResponse> units = Arrays.asList(
+                toResponse(mockUnit),
+                toResponse(Unit.builder()
                         .id(UUID.randomUUID())
                         .numberOfRooms(1)
                         .type(AccommodationType.APARTMENTS)
@@ -351,10 +351,10 @@ class UnitServiceTest {
                         .totalPrice(new BigDecimal("92.00"))
                         .description("Test studio")
                         .available(true)
-                        .build()
+                        .build())
         );
 
-        Page<Unit> unitPage = new PageImpl<>(units, PageRequest.of(0, 5), 10);
+        Page<UnitResponse> unitPage = new PageImpl<>(units, PageRequest.of(0, 5), 10);
         when(unitRepository.searchUnits(
                 isNull(),
                 isNull(),
@@ -381,7 +381,7 @@ class UnitServiceTest {
         request.setPage(0);
         request.setSize(10);
 
-        Page<Unit> emptyPage = new PageImpl<>(Collections.emptyList());
+        Page<UnitResponse> emptyPage = new PageImpl<>(Collections.emptyList());
         when(unitRepository.searchUnits(
                 isNull(),
                 isNull(),
@@ -401,4 +401,10 @@ class UnitServiceTest {
         assertEquals(1, response.getTotalPages());
         assertTrue(response.isLast());
     }
+
+    private UnitResponse toResponse(Unit unit) {
+        return new UnitResponse(unit.getId(), unit.getNumberOfRooms(), unit.getType(), unit.getFloor(),
+                unit.getBasePrice(), unit.getTotalPrice(), unit.getDescription(), unit.isAvailable(),
+                unit.getCreatedAt(), unit.getUpdatedAt());
+    }
 } 
\ No newline at end of file
@@ -186,8 +186,9 @@ class UserServiceTest {
 
     @Test
     void getAllUsers_ReturnsPaginatedUsers() {
-        Page<User> userPage = new PageImpl<>(Collections.singletonList(mockUser));
-        when(userRepository.findAll(any(PageRequest.class))).thenReturn(userPage);
+        Page<UserResponse> userPage = new PageImpl<>(Collections.singletonList(new UserResponse(testUserId,
+                mockUser.getEmail(), mockUser.getFirstName(), mockUser.getLastName(), mockUser.getRole(), null, null)));
+        when(userRepository.findAllResponses(any(PageRequest.class))).thenReturn(userPage);
 
         PageResponse<UserResponse> response = userService.getAllUsers(0, 10);
 